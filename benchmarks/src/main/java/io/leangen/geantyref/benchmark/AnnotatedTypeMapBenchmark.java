@@ -0,0 +1,72 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref.benchmark;
+
+import io.leangen.geantyref.AnnotatedTypeMap;
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.geantyref.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in an {@link AnnotatedTypeMap} using keys equal to, but not the same instances as, the stored ones,
+ * which is how such maps are typically queried.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotatedTypeMapBenchmark {
+
+    private final Map<AnnotatedType, String> map = new AnnotatedTypeMap<>();
+    private AnnotatedType annotatedKey;
+    private AnnotatedType nestedKey;
+    private AnnotatedType missingKey;
+
+    @Setup
+    public void setUp() {
+        map.put(Shapes.ANNOTATED, "annotated");
+        map.put(GenericTypeReflector.annotate(Shapes.NESTED), "nested");
+        map.put(GenericTypeReflector.annotate(String.class), "string");
+        for (Class<?> type : new Class<?>[] {Integer.class, Long.class, Double.class, List.class, Map.class}) {
+            map.put(GenericTypeReflector.annotate(type), type.getSimpleName());
+        }
+        annotatedKey = new TypeToken<@Shapes.NonNull Map<@Shapes.NonNull @Shapes.Size(max = 10) String,
+                @Shapes.NonNull List<@Shapes.Size(max = 5) Integer @Shapes.NonNull []>>>(){}.getAnnotatedType();
+        nestedKey = GenericTypeReflector.annotate(Shapes.NESTED);
+        missingKey = GenericTypeReflector.annotate(Shapes.NESTED_WILDCARDS);
+    }
+
+    @Benchmark
+    public String getAnnotated() {
+        return map.get(annotatedKey);
+    }
+
+    @Benchmark
+    public String getNested() {
+        return map.get(nestedKey);
+    }
+
+    @Benchmark
+    public String getMissing() {
+        return map.get(missingKey);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref.benchmark;
+
+import io.leangen.geantyref.TypeToken;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type shapes exercised by the benchmarks, modelled after what real data-binding and DI code throws at the library.
+ */
+final class Shapes {
+
+    private Shapes() {
+    }
+
+    // A deep class hierarchy, passing type arguments all the way down
+    static class Level0<A, B> {}
+    static class Level1<A, B> extends Level0<B, A> {}
+    static class Level2<A> extends Level1<List<A>, String> {}
+    static class Level3<A> extends Level2<Map<A, A>> {}
+    static class Level4<A> extends Level3<Set<A>> {}
+    static class Level5 extends Level4<Integer> {}
+
+    // A wide interface diamond, every path ending in the same generic root
+    interface Root<T> {}
+    interface Left<T> extends Root<T> {}
+    interface Right<T> extends Root<T> {}
+    interface Middle<T> extends Left<T>, Right<T> {}
+    interface Other<T> extends Middle<List<T>>, Comparable<Other<T>> {}
+    interface Wide<T> extends Left<List<T>>, Right<List<T>>, Middle<List<T>>, Other<T> {}
+    static abstract class Diamond implements Wide<String>, Right<List<String>> {}
+
+    // Recursive bounds
+    enum Color { RED, GREEN, BLUE }
+    interface Node<N extends Node<N>> extends Comparable<N> {}
+    static abstract class TreeNode implements Node<TreeNode> {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE_USE)
+    @interface NonNull {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE_USE)
+    @interface Size { int max(); }
+
+    static final Type NESTED = new TypeToken<Map<String, List<Map<Integer, Set<String>>>>>(){}.getType();
+    static final Type NESTED_WILDCARDS = new TypeToken<Map<? extends CharSequence, ? super List<? extends Number>>>(){}.getType();
+    static final Type LIST_OF_LEVEL2 = new TypeToken<List<Level2<String>>>(){}.getType();
+    static final Type COLLECTION_OF_LEVEL0 = new TypeToken<Iterable<? extends Level0<String, ?>>>(){}.getType();
+    static final Type ENUM_OF_COLOR = new TypeToken<Enum<Color>>(){}.getType();
+
+    static final AnnotatedType ANNOTATED = new TypeToken<
+            @NonNull Map<@NonNull @Size(max = 10) String, @NonNull List<@Size(max = 5) Integer @NonNull []>>>(){}.getAnnotatedType();
+    static final AnnotatedType ANNOTATED_WILDCARDS = new TypeToken<
+            @NonNull Map<@NonNull ? extends CharSequence, @Size(max = 3) List<? super @NonNull Integer>>>(){}.getAnnotatedType();
+}
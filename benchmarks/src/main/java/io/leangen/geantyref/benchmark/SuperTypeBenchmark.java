@@ -0,0 +1,86 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref.benchmark;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.geantyref.SuperTypeMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supertype searches and subtype checks over deep hierarchies, diamonds and recursive bounds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuperTypeBenchmark {
+
+    private final SuperTypeMatcher collectionOfLevel0 = GenericTypeReflector.compileSuperTypeMatcher(Shapes.COLLECTION_OF_LEVEL0);
+    private final SuperTypeMatcher nested = GenericTypeReflector.compileSuperTypeMatcher(Shapes.NESTED);
+
+    @Benchmark
+    public Type exactSuperTypeDeepHierarchy() {
+        return GenericTypeReflector.getExactSuperType(Shapes.Level5.class, Shapes.Level0.class);
+    }
+
+    @Benchmark
+    public Type exactSuperTypeDiamond() {
+        return GenericTypeReflector.getExactSuperType(Shapes.Diamond.class, Shapes.Root.class);
+    }
+
+    @Benchmark
+    public Type exactSuperTypeRecursiveBound() {
+        return GenericTypeReflector.getExactSuperType(Shapes.TreeNode.class, Comparable.class);
+    }
+
+    @Benchmark
+    public Type exactSuperTypeEnum() {
+        return GenericTypeReflector.getExactSuperType(Shapes.Color.class, Comparable.class);
+    }
+
+    @Benchmark
+    public Type[] exactSuperTypesBatch() {
+        return GenericTypeReflector.getExactSuperTypes(Shapes.Diamond.class, Shapes.Root.class, Shapes.Middle.class, Comparable.class);
+    }
+
+    @Benchmark
+    public boolean isSuperTypeDeepHierarchy() {
+        return GenericTypeReflector.isSuperType(Shapes.COLLECTION_OF_LEVEL0, Shapes.LIST_OF_LEVEL2);
+    }
+
+    @Benchmark
+    public boolean isSuperTypeEnum() {
+        return GenericTypeReflector.isSuperType(Shapes.ENUM_OF_COLOR, Shapes.Color.class);
+    }
+
+    @Benchmark
+    public boolean isSuperTypeNotRelated() {
+        return GenericTypeReflector.isSuperType(Shapes.NESTED, Shapes.Diamond.class);
+    }
+
+    @Benchmark
+    public boolean matcherDeepHierarchy() {
+        return collectionOfLevel0.matches(Shapes.LIST_OF_LEVEL2);
+    }
+
+    @Benchmark
+    public boolean matcherNotRelated() {
+        return nested.matches(Shapes.Diamond.class);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref.benchmark;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.geantyref.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations building new type trees: annotating, capturing, canonicalizing and resolving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    private final Type listOfT = TypeFactory.parameterizedClass(List.class, Shapes.Level3.class.getTypeParameters()[0]);
+    private final Type level3OfString = TypeFactory.parameterizedClass(Shapes.Level3.class, String.class);
+
+    @Benchmark
+    public AnnotatedType annotateClass() {
+        return GenericTypeReflector.annotate(String.class);
+    }
+
+    @Benchmark
+    public AnnotatedType annotateNested() {
+        return GenericTypeReflector.annotate(Shapes.NESTED);
+    }
+
+    @Benchmark
+    public AnnotatedType captureWildcards() {
+        return GenericTypeReflector.capture(GenericTypeReflector.annotate(Shapes.NESTED_WILDCARDS));
+    }
+
+    @Benchmark
+    public AnnotatedType captureAnnotatedWildcards() {
+        return GenericTypeReflector.capture(Shapes.ANNOTATED_WILDCARDS);
+    }
+
+    @Benchmark
+    public AnnotatedType toCanonicalAnnotated() {
+        return GenericTypeReflector.toCanonical(Shapes.ANNOTATED);
+    }
+
+    @Benchmark
+    public AnnotatedType toCanonicalBoxedAnnotated() {
+        return GenericTypeReflector.toCanonicalBoxed(Shapes.ANNOTATED);
+    }
+
+    @Benchmark
+    public Type resolveTypeVariable() {
+        return GenericTypeReflector.resolveType(listOfT, level3OfString);
+    }
+}
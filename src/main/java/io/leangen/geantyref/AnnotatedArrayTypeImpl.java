@@ -13,10 +13,12 @@ import java.lang.reflect.Type;
 class AnnotatedArrayTypeImpl extends AnnotatedTypeImpl implements AnnotatedArrayType {
 
     private final AnnotatedType componentType;
+    private final boolean immutable;
 
     AnnotatedArrayTypeImpl(Type type, Annotation[] annotations, AnnotatedType componentType) {
         super(type, annotations);
         this.componentType = componentType;
+        this.immutable = isImmutable(componentType);
     }
 
     static AnnotatedArrayType createArrayType(AnnotatedType componentType, Annotation[] annotations) {
@@ -37,8 +39,13 @@ class AnnotatedArrayTypeImpl extends AnnotatedTypeImpl implements AnnotatedArray
     }
 
     @Override
-    public int hashCode() {
-        return 127 * super.hashCode() ^ componentType.hashCode();
+    int computeHashCode() {
+        return 127 * super.computeHashCode() ^ componentType.hashCode();
+    }
+
+    @Override
+    boolean isImmutable() {
+        return immutable;
     }
 
     @Override
@@ -76,7 +76,7 @@ class AnnotatedCaptureTypeImpl extends AnnotatedTypeImpl implements AnnotatedCap
 
     //Capture types can be recursive (self-referential), so instances cannot be immutable
     AnnotatedCaptureTypeImpl setAnnotations(Annotation[] annotations) {
-        this.annotations = toMap(annotations);
+        this.annotations = compact(annotations);
         return this;
     }
 
@@ -85,6 +85,11 @@ class AnnotatedCaptureTypeImpl extends AnnotatedTypeImpl implements AnnotatedCap
         return declaredAnnotations;
     }
 
+    @Override
+    boolean isImmutable() {
+        return false;
+    }
+
     /**
      * Returns an array of <tt>Type</tt> objects representing the upper bound(s) of this capture.
      * This includes both the upper bound of a <tt>? extends</tt> wildcard, and the bounds declared
@@ -15,11 +15,13 @@ import static io.leangen.geantyref.GenericTypeReflector.typeArraysEqual;
 class AnnotatedParameterizedTypeImpl extends AnnotatedTypeImpl implements AnnotatedParameterizedType {
 
     private final AnnotatedType[] typeArguments;
+    private final boolean immutable;
 
     AnnotatedParameterizedTypeImpl(ParameterizedType rawType, Annotation[] annotations, AnnotatedType[] typeArguments, AnnotatedType ownerType) {
         super(rawType, annotations);
         this.typeArguments = typeArguments;
         this.ownerType = ownerType;
+        this.immutable = isImmutable(typeArguments) && (ownerType == null || isImmutable(ownerType));
     }
 
     @Override
@@ -37,8 +39,13 @@ class AnnotatedParameterizedTypeImpl extends AnnotatedTypeImpl implements Annota
     }
 
     @Override
-    public int hashCode() {
-        return 127 * super.hashCode() ^ GenericTypeReflector.hashCode(typeArguments);
+    int computeHashCode() {
+        return 127 * super.computeHashCode() ^ GenericTypeReflector.hashCode(typeArguments);
+    }
+
+    @Override
+    boolean isImmutable() {
+        return immutable;
     }
 
     @Override
@@ -9,20 +9,21 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 class AnnotatedTypeImpl implements AnnotatedType {
 
+    static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
     protected Type type;
-    protected Map<Class<? extends Annotation>, Annotation> annotations;
+    protected Annotation[] annotations; //at most one per annotation type, never exposed
     protected AnnotatedType ownerType;
+    private int hash; //lazily cached, only for immutable types
+    private boolean canonical; //a hint only, so a thread not seeing it merely canonicalizes again
 
     AnnotatedTypeImpl(Type type) {
-        this(type, new Annotation[0], null);
+        this(type, NO_ANNOTATIONS, null);
     }
 
     AnnotatedTypeImpl(Type type, Annotation[] annotations) {
@@ -31,7 +32,7 @@ class AnnotatedTypeImpl implements AnnotatedType {
 
     AnnotatedTypeImpl(Type type, Annotation[] annotations, AnnotatedType ownerType) {
         this.type = Objects.requireNonNull(type);
-        this.annotations = toMap(annotations);
+        this.annotations = compact(annotations);
         this.ownerType = ownerType;
     }
 
@@ -43,12 +44,17 @@ class AnnotatedTypeImpl implements AnnotatedType {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
-        return (T) annotations.get(annotationClass);
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == annotationClass) {
+                return (T) annotation;
+            }
+        }
+        return null;
     }
 
     @Override
     public Annotation[] getAnnotations() {
-        return annotations.values().toArray(new Annotation[0]);
+        return annotations.length == 0 ? NO_ANNOTATIONS : annotations.clone();
     }
 
     //should this maybe return only annotations directly on type?
@@ -70,13 +76,68 @@ class AnnotatedTypeImpl implements AnnotatedType {
         if (!(other instanceof AnnotatedType)) {
             return false;
         }
+        if (other.getClass() == this.getClass() && hashesDiffer((AnnotatedTypeImpl) other)) {
+            return false;
+        }
         AnnotatedType that = (AnnotatedType) other;
-        return this.getType().equals(that.getType()) && Arrays.equals(this.getAnnotations(), that.getAnnotations());
+        return this.getType().equals(that.getType()) && Arrays.equals(this.annotations, annotationsOf(that));
     }
 
     @Override
     public int hashCode() {
-        return 127 * this.getType().hashCode() ^ Arrays.hashCode(this.getAnnotations());
+        if (!isImmutable()) {
+            return computeHashCode();
+        }
+        int h = hash;
+        if (h == 0) {
+            h = computeHashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    int computeHashCode() {
+        return 127 * this.getType().hashCode() ^ Arrays.hashCode(annotations);
+    }
+
+    /**
+     * Checks whether both types have already cached their hash codes, and those differ.
+     */
+    boolean hashesDiffer(AnnotatedTypeImpl other) {
+        return this.hash != 0 && other.hash != 0 && this.hash != other.hash;
+    }
+
+    /**
+     * Whether this type, including all the types it is composed of, can never change.
+     * Only the hash codes of immutable types are cached. Type variables and captures are mutated
+     * while they are being completed, and so is anything containing them.
+     */
+    boolean isImmutable() {
+        return true;
+    }
+
+    /**
+     * Whether this type is known to be in the canonical form, see {@link GenericTypeReflector#toCanonical(AnnotatedType)}.
+     */
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    void markCanonical() {
+        canonical = true;
+    }
+
+    static boolean isImmutable(AnnotatedType type) {
+        return !(type instanceof AnnotatedTypeImpl) || ((AnnotatedTypeImpl) type).isImmutable();
+    }
+
+    static boolean isImmutable(AnnotatedType[] types) {
+        for (AnnotatedType type : types) {
+            if (!isImmutable(type)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -85,7 +146,7 @@ class AnnotatedTypeImpl implements AnnotatedType {
     }
 
     String annotationsString() {
-        return annotations.isEmpty() ? "" : annotations.values().stream()
+        return annotations.length == 0 ? "" : Arrays.stream(annotations)
                 .map(Annotation::toString)
                 .collect(Collectors.joining(", ")) + " ";
     }
@@ -96,11 +157,34 @@ class AnnotatedTypeImpl implements AnnotatedType {
                 .collect(Collectors.joining(", "));
     }
 
-    protected Map<Class<? extends Annotation>, Annotation> toMap(Annotation[] annotations) {
-        Map<Class<? extends Annotation>, Annotation> map = new LinkedHashMap<>();
+    /**
+     * Returns the annotations of the given type without copying them when possible.
+     * The returned array must never be modified.
+     */
+    static Annotation[] annotationsOf(AnnotatedType type) {
+        return type instanceof AnnotatedTypeImpl ? ((AnnotatedTypeImpl) type).annotations : type.getAnnotations();
+    }
+
+    /**
+     * Copies the given annotations keeping only the last one of each annotation type, at the position
+     * its type first occurred. Sharing the empty array keeps unannotated nodes allocation-free.
+     */
+    protected static Annotation[] compact(Annotation[] annotations) {
+        if (annotations.length == 0) {
+            return NO_ANNOTATIONS;
+        }
+        Annotation[] result = annotations.clone();
+        int size = 0;
+        outer:
         for (Annotation annotation : annotations) {
-            map.put(annotation.annotationType(), annotation);
+            for (int i = 0; i < size; i++) {
+                if (result[i].annotationType() == annotation.annotationType()) {
+                    result[i] = annotation;
+                    continue outer;
+                }
+            }
+            result[size++] = annotation;
         }
-        return Collections.unmodifiableMap(map);
+        return size == result.length ? result : Arrays.copyOf(result, size);
     }
 }
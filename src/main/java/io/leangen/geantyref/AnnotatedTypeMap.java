@@ -30,6 +30,8 @@ import static io.leangen.geantyref.GenericTypeReflector.toCanonical;
  * @param <V> the type of mapped values
  *
  * @see AnnotatedTypeSet
+ * @see ConcurrentAnnotatedTypeMap
+ * @see WeakAnnotatedTypeMap
  */
 public class AnnotatedTypeMap<K extends AnnotatedType, V> implements Map<K, V> {
 
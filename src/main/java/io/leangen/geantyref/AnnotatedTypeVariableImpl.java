@@ -20,7 +20,7 @@ class AnnotatedTypeVariableImpl extends AnnotatedTypeImpl implements AnnotatedTy
     private AnnotatedType[] annotatedBounds;
 
     AnnotatedTypeVariableImpl(TypeVariable<?> type) {
-        this(type, type.getAnnotations());
+        this(type, ClassMetadata.annotationsOf(type));
     }
 
     AnnotatedTypeVariableImpl(TypeVariable<?> type, Annotation[] annotations) {
@@ -40,7 +40,7 @@ class AnnotatedTypeVariableImpl extends AnnotatedTypeImpl implements AnnotatedTy
 
     AnnotatedTypeVariableImpl setAnnotations(Annotation[] annotations) {
         //#IMPLTNOTE1 this.type = new TypeVariableImpl<>((TypeVariable<?>) this.type, annotations, this.annotatedBounds);
-        this.annotations = toMap(annotations);
+        this.annotations = compact(annotations);
         return this;
     }
 
@@ -54,6 +54,11 @@ class AnnotatedTypeVariableImpl extends AnnotatedTypeImpl implements AnnotatedTy
         return other instanceof AnnotatedTypeVariable && super.equals(other);
     }
 
+    @Override
+    boolean isImmutable() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return annotationsString() + ((TypeVariable<?>) type).getName();
@@ -17,6 +17,7 @@ class AnnotatedWildcardTypeImpl extends AnnotatedTypeImpl implements AnnotatedWi
 
     private final AnnotatedType[] lowerBounds;
     private final AnnotatedType[] upperBounds;
+    private final boolean immutable;
 
     AnnotatedWildcardTypeImpl(WildcardType type, Annotation[] annotations, AnnotatedType[] lowerBounds, AnnotatedType[] upperBounds) {
         super(type, annotations);
@@ -30,6 +31,7 @@ class AnnotatedWildcardTypeImpl extends AnnotatedTypeImpl implements AnnotatedWi
         validateBounds(type, lowerBounds, upperBounds);
         this.lowerBounds = lowerBounds;
         this.upperBounds = upperBounds;
+        this.immutable = isImmutable(lowerBounds) && isImmutable(upperBounds);
     }
 
     @Override
@@ -52,8 +54,13 @@ class AnnotatedWildcardTypeImpl extends AnnotatedTypeImpl implements AnnotatedWi
     }
 
     @Override
-    public int hashCode() {
-        return 127 * super.hashCode() ^ (GenericTypeReflector.hashCode(lowerBounds) + GenericTypeReflector.hashCode(upperBounds));
+    int computeHashCode() {
+        return 127 * super.computeHashCode() ^ (GenericTypeReflector.hashCode(lowerBounds) + GenericTypeReflector.hashCode(upperBounds));
+    }
+
+    @Override
+    boolean isImmutable() {
+        return immutable;
     }
 
     @Override
@@ -0,0 +1,86 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe memoizing cache holding at most a fixed number of entries.
+ * A hit costs a single {@link ConcurrentHashMap} probe. When the size bound is exceeded,
+ * the oldest entries are evicted first. {@code null} results are cached as well.
+ * <p>
+ * The loader is invoked outside of any lock, so concurrent misses on the same key may compute
+ * the value more than once, but all callers observe the first value that got stored.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+class BoundedCache<K, V> {
+
+    private static final Object NULL = new Object();
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<K, Object> entries = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    BoundedCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive, but was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return unmask(cached);
+        }
+        misses.increment();
+        V loaded = loader.apply(key);
+        Object existing = entries.putIfAbsent(key, loaded == null ? NULL : loaded);
+        if (existing != null) {
+            return unmask(existing);
+        }
+        insertionOrder.add(key);
+        evict();
+        return loaded;
+    }
+
+    void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evict() {
+        while (entries.size() > maximumSize) {
+            K oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unmask(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+}
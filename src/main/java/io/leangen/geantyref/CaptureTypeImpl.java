@@ -36,7 +36,18 @@ class CaptureTypeImpl implements CaptureType {
      * other: we need the capture of the argument.
      */
     void init(VarMap varMap) {
-        ArrayList<Type> upperBoundsList = new ArrayList<>(Arrays.asList(varMap.map(variable.getBounds())));
+        init(varMap.map(variable.getBounds()));
+    }
+
+    /**
+     * The equivalent of {@link #init(VarMap)} for captures created without annotations.
+     */
+    void init(TypeVarMap varMap) {
+        init(varMap.map(variable.getBounds(), VarMap.MappingMode.EXACT));
+    }
+
+    private void init(Type[] variableBounds) {
+        ArrayList<Type> upperBoundsList = new ArrayList<>(Arrays.asList(variableBounds));
 
         List<Type> wildcardUpperBounds = Arrays.asList(wildcard.getUpperBounds());
         if (wildcardUpperBounds.size() > 0 && wildcardUpperBounds.get(0) == Object.class) {
@@ -0,0 +1,231 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generic metadata of a class that the JDK recomputes on every access, re-parsing type annotations
+ * and cloning arrays each time. It is computed once per class and kept in a {@link ClassValue},
+ * so it is released together with the class it describes.
+ * <p>The returned arrays are shared and must never be modified.</p>
+ */
+final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private static final Map<Class<?>, Type> NO_TEMPLATES = Collections.emptyMap();
+
+    private final Class<?> type;
+    private final AnnotatedType[] annotatedInterfaces;
+    private final AnnotatedType annotatedSuperclass;
+    private final Type[] genericInterfaces;
+    private final Type genericSuperclass;
+    private final TypeVariable<?>[] typeParameters;
+    private final Annotation[][] typeParameterAnnotations;
+    private final Annotation[] annotations;
+    private final boolean missingTypeParameters;
+    private volatile AnnotatedType annotatedType;
+    private volatile Map<Class<?>, Type> superTypeTemplates;
+    private volatile Class<?>[] linearization;
+
+    private ClassMetadata(Class<?> clazz) {
+        this.type = clazz;
+        this.annotatedInterfaces = clazz.getAnnotatedInterfaces();
+        this.annotatedSuperclass = clazz.getAnnotatedSuperclass();
+        this.genericInterfaces = new Type[annotatedInterfaces.length];
+        for (int i = 0; i < annotatedInterfaces.length; i++) {
+            genericInterfaces[i] = annotatedInterfaces[i].getType();
+        }
+        this.genericSuperclass = annotatedSuperclass == null ? null : annotatedSuperclass.getType();
+        this.typeParameters = clazz.getTypeParameters();
+        this.typeParameterAnnotations = new Annotation[typeParameters.length][];
+        for (int i = 0; i < typeParameters.length; i++) {
+            typeParameterAnnotations[i] = typeParameters[i].getAnnotations();
+        }
+        this.annotations = clazz.getAnnotations();
+        this.missingTypeParameters = isMissingTypeParameters(clazz);
+    }
+
+    static ClassMetadata of(Class<?> clazz) {
+        return METADATA.get(clazz);
+    }
+
+    AnnotatedType[] getAnnotatedInterfaces() {
+        return annotatedInterfaces;
+    }
+
+    AnnotatedType getAnnotatedSuperclass() {
+        return annotatedSuperclass;
+    }
+
+    Type[] getGenericInterfaces() {
+        return genericInterfaces;
+    }
+
+    Type getGenericSuperclass() {
+        return genericSuperclass;
+    }
+
+    TypeVariable<?>[] getTypeParameters() {
+        return typeParameters;
+    }
+
+    Annotation[] getTypeParameterAnnotations(int index) {
+        return typeParameterAnnotations[index];
+    }
+
+    Annotation[] getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Returns the result of {@link GenericTypeReflector#annotate(java.lang.reflect.Type)} for this class.
+     * Annotated classes are immutable, so a single instance is computed lazily and shared.
+     */
+    AnnotatedType getAnnotatedType() {
+        AnnotatedType annotated = annotatedType;
+        if (annotated == null) {
+            if (type.isArray()) {
+                annotated = AnnotatedArrayTypeImpl.createArrayType(of(type.getComponentType()).getAnnotatedType(), AnnotatedTypeImpl.NO_ANNOTATIONS);
+            } else {
+                AnnotatedType owner = type.getDeclaringClass() != null ? of(type.getDeclaringClass()).getAnnotatedType() : null;
+                annotated = new AnnotatedTypeImpl(type, annotations, owner);
+            }
+            annotatedType = annotated;
+        }
+        return annotated;
+    }
+
+    /**
+     * Returns all supertypes of this class keyed by their erasure, with type arguments expressed in terms of
+     * the type parameters of this class, so finding a supertype of any parameterization takes a single substitution.
+     * Computed lazily, see {@link TypeResolver#superTypeTemplates(Class)}.
+     *
+     * @return The supertype templates, or {@code null} if they can not be expressed in terms of this class alone
+     */
+    Map<Class<?>, Type> getSuperTypeTemplates() {
+        Map<Class<?>, Type> templates = superTypeTemplates;
+        if (templates == null) {
+            templates = TypeResolver.superTypeTemplates(type);
+            superTypeTemplates = templates = templates == null ? NO_TEMPLATES : templates;
+        }
+        return templates == NO_TEMPLATES ? null : templates;
+    }
+
+    /**
+     * Returns this class followed by all of its supertypes, each listed once, ordered so that every class
+     * comes before all of its own supertypes. Between unrelated classes, superclasses come before interfaces,
+     * and interfaces in their declaration order. {@code Object} always comes last, and arrays are followed by
+     * the arrays of the supertypes of their component type, then by {@link Cloneable} and {@link Serializable}.
+     * Computed lazily.
+     */
+    Class<?>[] getLinearization() {
+        Class<?>[] classes = linearization;
+        if (classes == null) {
+            linearization = classes = linearize(type);
+        }
+        return classes;
+    }
+
+    /**
+     * @see GenericTypeReflector#isMissingTypeParameters(java.lang.reflect.Type)
+     */
+    boolean isMissingTypeParameters() {
+        return missingTypeParameters;
+    }
+
+    /**
+     * Finds the position of the given type parameter of this class.
+     * Compares by name, so both the JDK's and our own {@link TypeVariable} implementations are found.
+     *
+     * @return The index of {@code variable}, or -1 if it is not declared by this class
+     */
+    int indexOf(TypeVariable<?> variable) {
+        String name = variable.getName();
+        for (int i = 0; i < typeParameters.length; i++) {
+            if (typeParameters[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the annotations of the given type variable, from the cache if it is declared by a class.
+     */
+    static Annotation[] annotationsOf(TypeVariable<?> variable) {
+        if (variable.getGenericDeclaration() instanceof Class) {
+            ClassMetadata metadata = of((Class<?>) variable.getGenericDeclaration());
+            int index = metadata.indexOf(variable);
+            if (index >= 0) {
+                return metadata.typeParameterAnnotations[index];
+            }
+        }
+        return variable.getAnnotations();
+    }
+
+    private static Class<?>[] linearize(Class<?> clazz) {
+        List<Class<?>> classes = new ArrayList<>();
+        if (clazz.isArray()) {
+            for (Class<?> component : of(clazz.getComponentType()).getLinearization()) {
+                classes.add(Array.newInstance(component, 0).getClass());
+            }
+            Collections.addAll(classes, Cloneable.class, Serializable.class, Object.class);
+        } else {
+            // reverse post-order of a depth-first search is a topological order, so subtypes come first
+            collectPostOrder(clazz, new HashSet<>(), classes);
+            Collections.reverse(classes);
+            if (!clazz.isPrimitive()) {
+                classes.add(Object.class);
+            }
+        }
+        return classes.toArray(new Class<?>[0]);
+    }
+
+    private static void collectPostOrder(Class<?> clazz, Set<Class<?>> visited, List<Class<?>> postOrder) {
+        if (clazz == Object.class || !visited.add(clazz)) {
+            return;
+        }
+        // visited backwards, so that after reversing the superclass comes first and interfaces keep their order
+        Class<?>[] interfaces = clazz.getInterfaces();
+        for (int i = interfaces.length - 1; i >= 0; i--) {
+            collectPostOrder(interfaces[i], visited, postOrder);
+        }
+        if (clazz.getSuperclass() != null) {
+            collectPostOrder(clazz.getSuperclass(), visited, postOrder);
+        }
+        postOrder.add(clazz);
+    }
+
+    private static boolean isMissingTypeParameters(Class<?> clazz) {
+        if (Modifier.isStatic(clazz.getModifiers())) {
+            return clazz.getTypeParameters().length != 0;
+        }
+        for (Class<?> enclosing = clazz; enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            if (enclosing.getTypeParameters().length != 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static io.leangen.geantyref.GenericTypeReflector.toCanonical;
+
+/**
+ * An {@link AnnotatedTypeMap} backed by a {@link ConcurrentHashMap}, suited for registries shared between threads
+ * and read far more often than written to.
+ * <p>Reads never lock. Each operation turns its key into the canonical form once, which is itself immediate for keys
+ * that are already canonical, such as those obtained from this map or from {@link GenericTypeReflector#toCanonical(AnnotatedType)}.
+ * {@link #computeIfAbsent(AnnotatedType, Function)} is atomic, so the mapping function is applied at most once per key,
+ * and only ever locks when the key is missing. As with {@link ConcurrentHashMap}, neither keys nor values may be {@code null},
+ * and the mapping function must not update this map.</p>
+ *
+ * @param <V> the type of mapped values
+ *
+ * @see AnnotatedTypeMap
+ */
+public class ConcurrentAnnotatedTypeMap<K extends AnnotatedType, V> extends AnnotatedTypeMap<K, V> implements ConcurrentMap<K, V> {
+
+    private final ConcurrentHashMap<K, V> inner;
+
+    /**
+     * Constructs an empty instance
+     */
+    public ConcurrentAnnotatedTypeMap() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Constructs an empty instance, sized for the given number of mappings
+     *
+     * @param initialCapacity The number of mappings to accommodate without resizing
+     */
+    public ConcurrentAnnotatedTypeMap(int initialCapacity) {
+        this(new ConcurrentHashMap<>(initialCapacity));
+    }
+
+    private ConcurrentAnnotatedTypeMap(ConcurrentHashMap<K, V> inner) {
+        super(inner);
+        this.inner = inner;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Only locks if {@code key} is not yet mapped.</p>
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        K canonical = toCanonical(key);
+        // ConcurrentHashMap#computeIfAbsent may lock the bin even when the key is present
+        V value = inner.get(canonical);
+        return value != null ? value : inner.computeIfAbsent(canonical, mappingFunction);
+    }
+}
@@ -12,10 +12,12 @@ import java.util.Objects;
 
 class GenericArrayTypeImpl implements GenericArrayType {
     private final Type componentType;
+    private final int hash;
 
     GenericArrayTypeImpl(Type componentType) {
         super();
         this.componentType = componentType;
+        this.hash = Objects.hashCode(componentType);
     }
 
     static Class<?> createArrayType(Class<?> componentType) {
@@ -27,7 +29,7 @@ class GenericArrayTypeImpl implements GenericArrayType {
         if (componentType instanceof Class) {
             return createArrayType((Class<?>) componentType);
         } else {
-            return new GenericArrayTypeImpl(componentType);
+            return TypeFactory.intern(new GenericArrayTypeImpl(componentType));
         }
     }
 
@@ -37,13 +39,13 @@ class GenericArrayTypeImpl implements GenericArrayType {
 
     @Override
     public boolean equals(Object other) {
-        return other instanceof GenericArrayType
+        return this == other || other instanceof GenericArrayType
                 && Objects.equals(this.componentType, ((GenericArrayType) other).getGenericComponentType());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.componentType);
+        return hash;
     }
 
     @Override
@@ -25,6 +25,11 @@ public class GenericTypeReflector {
 
     private static final WildcardType UNBOUND_WILDCARD = new WildcardTypeImpl(new Type[]{Object.class}, new Type[]{});
 
+    private static volatile BoundedCache<SuperTypeCacheKey, Object> superTypeCache;
+    private static volatile BoundedCache<MemberTypeCacheKey, Object[]> memberTypeCache;
+    private static volatile BoundedCache<AnnotatedType, ResolvedTypeView> resolvedTypeViewCache;
+    private static volatile BoundedCache<Object, Object> captureCache;
+
     private static final Map<Class<?>, Class<?>> BOX_TYPES = Map.of(
             boolean.class, Boolean.class,
             byte.class, Byte.class,
@@ -82,7 +87,12 @@ public class GenericTypeReflector {
             return true;
         }
         if (type instanceof ParameterizedType) {
-            return Arrays.stream(((ParameterizedType) type).getActualTypeArguments()).allMatch(GenericTypeReflector::isFullyBound);
+            for (Type argument : ParameterizedTypeImpl.argumentsOf((ParameterizedType) type)) {
+                if (!isFullyBound(argument)) {
+                    return false;
+                }
+            }
+            return true;
         }
         if (type instanceof GenericArrayType) {
             return isFullyBound(((GenericArrayType) type).getGenericComponentType());
@@ -90,6 +100,57 @@ public class GenericTypeReflector {
         return false;
     }
 
+    /**
+     * Checks whether the given type is made of classes alone, i.e. contains no type variables, wildcards or captures
+     * in any of its type arguments or component types.
+     *
+     * @param type The type to check
+     * @return {@code true} if {@code type} is fully bound
+     */
+    public static boolean isFullyBound(AnnotatedType type) {
+        return query(type, new TypeQuery<Boolean>() {
+            @Override
+            protected Boolean defaultResult() {
+                return true;
+            }
+
+            @Override
+            protected Boolean combine(Boolean result, Boolean next) {
+                return result && next;
+            }
+
+            @Override
+            protected boolean isDone(Boolean result) {
+                return !result;
+            }
+
+            @Override
+            protected Boolean visitParameterizedType(AnnotatedParameterizedType type) {
+                return visitAll(true, type.getAnnotatedActualTypeArguments());
+            }
+
+            @Override
+            protected Boolean visitWildcardType(AnnotatedWildcardType type) {
+                return false;
+            }
+
+            @Override
+            protected Boolean visitVariable(AnnotatedTypeVariable type) {
+                return false;
+            }
+
+            @Override
+            protected Boolean visitCaptureType(AnnotatedCaptureType type) {
+                return false;
+            }
+
+            @Override
+            protected Boolean visitUnmatched(AnnotatedType type) {
+                return false;
+            }
+        });
+    }
+
     /**
      * Maps type parameters in a type to their values.
      * @param toMapType Type possibly containing type arguments
@@ -101,20 +162,39 @@ public class GenericTypeReflector {
     }
 
     private static AnnotatedType mapTypeParameters(AnnotatedType toMapType, AnnotatedType typeAndParams, VarMap.MappingMode mappingMode) {
-        if (isMissingTypeParameters(typeAndParams.getType())) {
+        return mapTypeParameters(toMapType, varMapOf(typeAndParams), mappingMode);
+    }
+
+    /**
+     * Maps type parameters in a type to their values, as bound by {@link #varMapOf(AnnotatedType)}.
+     * @param varMap The bindings, or {@code null} if the type the parameters come from is raw
+     */
+    static AnnotatedType mapTypeParameters(AnnotatedType toMapType, VarMap varMap, VarMap.MappingMode mappingMode) {
+        if (varMap == null) {
             return new AnnotatedTypeImpl(erase(toMapType.getType()), toMapType.getAnnotations(), toMapType.getAnnotatedOwnerType());
-        } else {
-            VarMap varMap = new VarMap();
-            AnnotatedType handlingTypeAndParams = typeAndParams;
-            while (handlingTypeAndParams instanceof AnnotatedParameterizedType) {
-                AnnotatedParameterizedType pType = (AnnotatedParameterizedType) handlingTypeAndParams;
-                Class<?> clazz = (Class<?>)((ParameterizedType) pType.getType()).getRawType(); // getRawType should always be Class
-                TypeVariable<?>[] vars = clazz.getTypeParameters();
-                varMap.addAll(vars, pType.getAnnotatedActualTypeArguments());
-                handlingTypeAndParams = pType.getAnnotatedOwnerType();
-            }
-            return varMap.map(toMapType, mappingMode);
         }
+        return varMap.map(toMapType, mappingMode);
+    }
+
+    /**
+     * Binds the type parameters of the class of {@code typeAndParams}, and those of its generic owners, to their values.
+     * @param typeAndParams must be either ParameterizedType, or (in case there are no type arguments, or it's a raw type) Class
+     * @return The bindings, or {@code null} if {@code typeAndParams} is a raw type, and so has no values for its parameters
+     */
+    static VarMap varMapOf(AnnotatedType typeAndParams) {
+        if (isMissingTypeParameters(typeAndParams.getType())) {
+            return null;
+        }
+        VarMap varMap = new VarMap();
+        AnnotatedType handlingTypeAndParams = typeAndParams;
+        while (handlingTypeAndParams instanceof AnnotatedParameterizedType) {
+            AnnotatedParameterizedType pType = (AnnotatedParameterizedType) handlingTypeAndParams;
+            Class<?> clazz = (Class<?>)((ParameterizedType) pType.getType()).getRawType(); // getRawType should always be Class
+            TypeVariable<?>[] vars = ClassMetadata.of(clazz).getTypeParameters();
+            varMap.addAll(vars, pType.getAnnotatedActualTypeArguments());
+            handlingTypeAndParams = pType.getAnnotatedOwnerType();
+        }
+        return varMap;
     }
 
     public static AnnotatedType resolveExactType(AnnotatedType unresolved, AnnotatedType typeAndParams) {
@@ -122,7 +202,7 @@ public class GenericTypeReflector {
     }
 
     public static Type resolveExactType(Type unresolved, Type typeAndParams) {
-        return resolveType(annotate(unresolved), annotate(typeAndParams, true), VarMap.MappingMode.EXACT).getType();
+        return TypeResolver.resolveType(unresolved, typeAndParams, VarMap.MappingMode.EXACT);
     }
 
     public static AnnotatedType resolveType(AnnotatedType unresolved, AnnotatedType typeAndParams) {
@@ -130,7 +210,7 @@ public class GenericTypeReflector {
     }
 
     public static Type resolveType(Type unresolved, Type typeAndParams) {
-        return resolveType(annotate(unresolved), annotate(typeAndParams, true), VarMap.MappingMode.ALLOW_INCOMPLETE).getType();
+        return TypeResolver.resolveType(unresolved, typeAndParams, VarMap.MappingMode.ALLOW_INCOMPLETE);
     }
 
     private static AnnotatedType resolveType(AnnotatedType unresolved, AnnotatedType typeAndParams, VarMap.MappingMode mappingMode) {
@@ -181,15 +261,7 @@ public class GenericTypeReflector {
      */
     public static boolean isMissingTypeParameters(Type type) {
         if (type instanceof Class) {
-            Class<?> clazz = (Class<?>) type;
-            if (Modifier.isStatic(clazz.getModifiers())) {
-                return clazz.getTypeParameters().length != 0;
-            }
-            for (Class<?> enclosing = clazz; enclosing != null; enclosing = enclosing.getEnclosingClass()) {
-                if (enclosing.getTypeParameters().length != 0)
-                    return true;
-            }
-            return false;
+            return ClassMetadata.of((Class<?>) type).isMissingTypeParameters();
         } else if (type instanceof ParameterizedType) {
             return false;
         } else {
@@ -210,11 +282,11 @@ public class GenericTypeReflector {
         if (clazz.isArray()) {
             return GenericArrayTypeImpl.createArrayType(addWildcardParameters(clazz.getComponentType()));
         } else if (isMissingTypeParameters(clazz)) {
-            TypeVariable<?>[] vars = clazz.getTypeParameters();
+            TypeVariable<?>[] vars = ClassMetadata.of(clazz).getTypeParameters();
             Type[] arguments = new Type[vars.length];
             Arrays.fill(arguments, UNBOUND_WILDCARD);
             Type owner = clazz.getDeclaringClass() == null ? null : addWildcardParameters(clazz.getDeclaringClass());
-            return new ParameterizedTypeImpl(clazz, arguments, owner);
+            return TypeFactory.intern(new ParameterizedTypeImpl(clazz, arguments, owner));
         } else {
             return clazz;
         }
@@ -229,6 +301,250 @@ public class GenericTypeReflector {
      * @return The annotated type representing {@code searchSuperClass} with type parameters from {@code subType}
      */
     public static AnnotatedType getExactSuperType(AnnotatedType subType, Class<?> searchSuperClass) {
+        BoundedCache<SuperTypeCacheKey, Object> cache = superTypeCache;
+        if (cache == null || isTrivialSuperTypeSearch(subType, searchSuperClass)) {
+            return exactSuperType(subType, searchSuperClass);
+        }
+        return (AnnotatedType) cache.get(new SuperTypeCacheKey(toCanonical(subType), searchSuperClass),
+                key -> exactSuperType((AnnotatedType) key.subType, key.searchSuperClass));
+    }
+
+    /**
+     * Enables memoization of {@link #getExactSuperType(AnnotatedType, Class)} and {@link #getExactSuperType(Type, Class)}.
+     * Results are keyed by the canonical form of the subtype (see {@link #toCanonical(AnnotatedType)}) and the
+     * searched class, so all subtypes equal in their canonical form share the same result.
+     * Plain {@link Type}s are resolved without annotations, so their results are cached separately, keyed by the type itself.
+     * Any previously enabled cache is discarded.
+     * <p>The cache is safe for concurrent use. Once it holds {@code maximumSize} entries, the oldest ones are evicted.</p>
+     *
+     * @param maximumSize The maximum number of entries to keep
+     */
+    public static void enableSuperTypeCache(int maximumSize) {
+        superTypeCache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Disables and clears the cache enabled by {@link #enableSuperTypeCache(int)}.
+     */
+    public static void disableSuperTypeCache() {
+        BoundedCache<SuperTypeCacheKey, Object> cache = superTypeCache;
+        superTypeCache = null;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the usage statistics of the cache enabled by {@link #enableSuperTypeCache(int)},
+     * or empty statistics if the cache is disabled.
+     */
+    public static CacheStats getSuperTypeCacheStats() {
+        BoundedCache<SuperTypeCacheKey, Object> cache = superTypeCache;
+        return cache == null ? CacheStats.EMPTY : cache.stats();
+    }
+
+    /**
+     * Enables memoization of the member type resolution done by {@link #getExactReturnType(Method, AnnotatedType)},
+     * {@link #getExactFieldType(Field, AnnotatedType)}, {@link #getExactParameterTypes(Executable, AnnotatedType)},
+     * their non-exact variants and all of their {@link Type} overloads.
+     * Results are keyed by the member, the canonical form of the declaring type (see {@link #toCanonical(AnnotatedType)})
+     * and whether unresolvable variables are allowed. Plain {@link Type}s are resolved without annotations,
+     * so their results are cached separately, keyed by the declaring type itself. Failed resolutions are not cached, and neither are
+     * resolutions against types with wildcard arguments, as those have to produce fresh captures every time,
+     * unless {@link #enableCaptureCache(int) the capture cache} is enabled as well.
+     * Any previously enabled cache is discarded.
+     * <p>The cache is safe for concurrent use. Once it holds {@code maximumSize} entries, the oldest ones are evicted.</p>
+     *
+     * @param maximumSize The maximum number of entries to keep
+     */
+    public static void enableMemberTypeCache(int maximumSize) {
+        memberTypeCache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Disables and clears the cache enabled by {@link #enableMemberTypeCache(int)}.
+     */
+    public static void disableMemberTypeCache() {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        memberTypeCache = null;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the usage statistics of the cache enabled by {@link #enableMemberTypeCache(int)},
+     * or empty statistics if the cache is disabled.
+     */
+    public static CacheStats getMemberTypeCacheStats() {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        return cache == null ? CacheStats.EMPTY : cache.stats();
+    }
+
+    /**
+     * Resolves the types of all fields, methods and constructors of the given type at once,
+     * declared by its class and inherited from its supertypes.
+     * See {@link ResolvedTypeView} for details.
+     *
+     * @param type The class or parameterized type whose members are to be resolved
+     * @return The view of the members of {@code type}
+     * @throws IllegalArgumentException If {@code type} is not a class or a parameterized type
+     */
+    public static ResolvedTypeView getResolvedTypeView(AnnotatedType type) {
+        BoundedCache<AnnotatedType, ResolvedTypeView> cache = resolvedTypeViewCache;
+        if (cache == null || capturesAfresh(type)) {
+            return new ResolvedTypeView(type);
+        }
+        return cache.get(toCanonical(type), ResolvedTypeView::new);
+    }
+
+    /**
+     * The equivalent of {@link #getResolvedTypeView(AnnotatedType)} for types without annotations.
+     */
+    public static ResolvedTypeView getResolvedTypeView(Type type) {
+        return getResolvedTypeView(annotate(type));
+    }
+
+    /**
+     * Enables memoization of {@link #getResolvedTypeView(AnnotatedType)} and {@link #getResolvedTypeView(Type)}.
+     * Views are keyed by the canonical form of the type (see {@link #toCanonical(AnnotatedType)}). Views of types with
+     * wildcard arguments are not cached, as those have to be captured afresh every time,
+     * unless {@link #enableCaptureCache(int) the capture cache} is enabled as well.
+     * Any previously enabled cache is discarded.
+     * <p>The cache is safe for concurrent use. Once it holds {@code maximumSize} entries, the oldest ones are evicted.</p>
+     *
+     * @param maximumSize The maximum number of entries to keep
+     */
+    public static void enableResolvedTypeViewCache(int maximumSize) {
+        resolvedTypeViewCache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Disables and clears the cache enabled by {@link #enableResolvedTypeViewCache(int)}.
+     */
+    public static void disableResolvedTypeViewCache() {
+        BoundedCache<AnnotatedType, ResolvedTypeView> cache = resolvedTypeViewCache;
+        resolvedTypeViewCache = null;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the usage statistics of the cache enabled by {@link #enableResolvedTypeViewCache(int)},
+     * or empty statistics if the cache is disabled.
+     */
+    public static CacheStats getResolvedTypeViewCacheStats() {
+        BoundedCache<AnnotatedType, ResolvedTypeView> cache = resolvedTypeViewCache;
+        return cache == null ? CacheStats.EMPTY : cache.stats();
+    }
+
+    /**
+     * Makes capture conversion deterministic: {@link #capture(AnnotatedType)} returns the very same capture for all types
+     * equal in their canonical form (see {@link #toCanonical(AnnotatedType)}), and the capture of plain {@link Type}s
+     * done internally, e.g. by {@link #isSuperType(Type, Type)}, returns the same capture for equal types.
+     * Captured types can then be used as cache keys, so the member type and resolved type view caches also keep
+     * the results for types with wildcard arguments.
+     * <p>Note that this deviates from the Java language, where each capture conversion produces fresh type variables:
+     * with the cache enabled, two captures of the same wildcard type are considered the same type.
+     * Captures are fully initialized before they are cached, so recursive bounds, as in {@code Enum<?>},
+     * refer to the cached capture itself. Annotated captures are changed in place when their annotations are updated,
+     * so each call returns a copy of the cached annotated capture, equal to it and sharing its {@link CaptureType}s.</p>
+     * Any previously enabled cache is discarded.
+     * <p>The cache is safe for concurrent use. Once it holds {@code maximumSize} entries, the oldest ones are evicted.</p>
+     *
+     * @param maximumSize The maximum number of entries to keep
+     */
+    public static void enableCaptureCache(int maximumSize) {
+        captureCache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Disables and clears the cache enabled by {@link #enableCaptureCache(int)}.
+     */
+    public static void disableCaptureCache() {
+        BoundedCache<Object, Object> cache = captureCache;
+        captureCache = null;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the usage statistics of the cache enabled by {@link #enableCaptureCache(int)},
+     * or empty statistics if the cache is disabled.
+     */
+    public static CacheStats getCaptureCacheStats() {
+        BoundedCache<Object, Object> cache = captureCache;
+        return cache == null ? CacheStats.EMPTY : cache.stats();
+    }
+
+    /**
+     * Returns the cache enabled by {@link #enableCaptureCache(int)}, or {@code null} if it is disabled.
+     * Annotated captures are keyed by the canonical form of the captured type, plain ones by the type itself.
+     */
+    static BoundedCache<Object, Object> captureCache() {
+        return captureCache;
+    }
+
+    /**
+     * Checks whether member types resolved against the given type can not be cached,
+     * because every resolution would capture its wildcard arguments afresh.
+     */
+    private static boolean capturesAfresh(AnnotatedType type) {
+        return captureCache == null && hasWildcardArguments(type);
+    }
+
+    private static boolean capturesAfresh(Type type) {
+        return captureCache == null && hasWildcardArguments(type);
+    }
+
+    /**
+     * Checks whether {@link #capture(AnnotatedType)} would introduce new capture types for the given type.
+     */
+    private static boolean hasWildcardArguments(AnnotatedType type) {
+        while (type instanceof AnnotatedParameterizedType) {
+            for (AnnotatedType argument : ((AnnotatedParameterizedType) type).getAnnotatedActualTypeArguments()) {
+                if (argument instanceof AnnotatedWildcardType) {
+                    return true;
+                }
+            }
+            type = type.getAnnotatedOwnerType();
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether {@link TypeResolver#capture(Type)} would introduce new capture types for the given type.
+     */
+    static boolean hasWildcardArguments(Type type) {
+        while (type instanceof ParameterizedType) {
+            for (Type argument : ParameterizedTypeImpl.argumentsOf((ParameterizedType) type)) {
+                if (argument instanceof WildcardType) {
+                    return true;
+                }
+            }
+            type = ((ParameterizedType) type).getOwnerType();
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the result of a supertype search is decided by erasure alone, in which case caching it is pointless.
+     */
+    private static boolean isTrivialSuperTypeSearch(AnnotatedType subType, Class<?> searchSuperClass) {
+        return isTrivialSuperTypeSearch(subType.getType(), searchSuperClass);
+    }
+
+    private static boolean isTrivialSuperTypeSearch(Type subType, Class<?> searchSuperClass) {
+        if (subType instanceof ParameterizedType || subType instanceof Class || subType instanceof GenericArrayType) {
+            Class<?> superClass = erase(subType);
+            return searchSuperClass == superClass || !searchSuperClass.isAssignableFrom(superClass);
+        }
+        return false;
+    }
+
+    private static AnnotatedType exactSuperType(AnnotatedType subType, Class<?> searchSuperClass) {
         if (subType instanceof AnnotatedParameterizedType || subType.getType() instanceof Class || subType instanceof AnnotatedArrayType) {
             Class<?> superClass = erase(subType.getType());
 
@@ -239,10 +555,14 @@ public class GenericTypeReflector {
             if (!searchSuperClass.isAssignableFrom(superClass)) {
                 return null;
             }
+
+            if (!superClass.isArray()) {
+                return exactSuperType(directSuperTypeTowards(subType, superClass, searchSuperClass), searchSuperClass);
+            }
         }
 
         for (AnnotatedType superType: getExactDirectSuperTypes(subType)) {
-            AnnotatedType result = getExactSuperType(superType, searchSuperClass);
+            AnnotatedType result = exactSuperType(superType, searchSuperClass);
             if (result != null)
                 return result;
         }
@@ -250,6 +570,26 @@ public class GenericTypeReflector {
         return null;
     }
 
+    /**
+     * Returns the first direct supertype of {@code type} (in the order of {@link #getExactDirectSuperTypes(AnnotatedType)})
+     * that is a subtype of {@code searchSuperClass}. The branch is chosen by erasure before any type parameters are mapped,
+     * so the search descends a single path and never maps or revisits supertypes leading elsewhere.
+     */
+    private static AnnotatedType directSuperTypeTowards(AnnotatedType type, Class<?> clazz, Class<?> searchSuperClass) {
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        AnnotatedType superClass = metadata.getAnnotatedSuperclass();
+        if (superClass != null && searchSuperClass.isAssignableFrom(erase(superClass.getType()))) {
+            return mapTypeParameters(superClass, type);
+        }
+        for (AnnotatedType superInterface : metadata.getAnnotatedInterfaces()) {
+            if (searchSuperClass.isAssignableFrom(erase(superInterface.getType()))) {
+                return mapTypeParameters(superInterface, type);
+            }
+        }
+        // the only supertype of an interface without superinterfaces is Object
+        return new AnnotatedTypeImpl(Object.class);
+    }
+
     /**
      * Finds the most specific supertype of {@code subType} whose erasure is {@code searchSuperClass}.
      * In other words, returns a type representing the class {@code searchSuperClass} plus its exact type parameters in {@code subType}.
@@ -271,8 +611,110 @@ public class GenericTypeReflector {
      * @return The type representing {@code searchSuperClass} with type parameters from {@code subType}
      */
     public static Type getExactSuperType(Type subType, Class<?> searchSuperClass) {
-        AnnotatedType superType = getExactSuperType(annotate(subType), searchSuperClass);
-        return superType == null ? null : superType.getType();
+        BoundedCache<SuperTypeCacheKey, Object> cache = superTypeCache;
+        if (cache == null || isTrivialSuperTypeSearch(subType, searchSuperClass)) {
+            return TypeResolver.getExactSuperType(subType, searchSuperClass);
+        }
+        return (Type) cache.get(new SuperTypeCacheKey(subType, searchSuperClass),
+                key -> TypeResolver.getExactSuperType((Type) key.subType, key.searchSuperClass));
+    }
+
+    /**
+     * The equivalent of {@link #getExactSuperTypes(Type, Class[])} but works with {@link AnnotatedType}s
+     *
+     * @param subType The type whose supertypes are to be searched for
+     * @param searchSuperClasses The classes of the supertypes to search for
+     *
+     * @return The annotated types representing each of {@code searchSuperClasses} with type parameters from {@code subType},
+     * or {@code null} for the classes that are not supertypes of {@code subType}
+     */
+    public static AnnotatedType[] getExactSuperTypes(AnnotatedType subType, Class<?>... searchSuperClasses) {
+        AnnotatedType[] result = new AnnotatedType[searchSuperClasses.length];
+        collectExactSuperTypes(subType, searchSuperClasses, result, searchSuperClasses.length);
+        return result;
+    }
+
+    /**
+     * Finds the exact supertypes of {@code subType} for several classes at once.
+     * The result for each class is the same as {@link #getExactSuperType(Type, Class)} would return for it,
+     * but the hierarchy of {@code subType} is traversed only once, and each supertype on the way
+     * has its type parameters mapped only once for all the searched classes.
+     *
+     * <p>For example, with {@code class StringList implements List<String>},
+     * {@code getExactSuperTypes(StringList.class, Iterable.class, Map.class)} returns an array containing a
+     * {@link ParameterizedType} representing {@code Iterable<String>}, followed by {@code null}.
+     * </p>
+     *
+     * @param subType The type whose supertypes are to be searched for
+     * @param searchSuperClasses The classes of the supertypes to search for
+     *
+     * @return The types representing each of {@code searchSuperClasses} with type parameters from {@code subType},
+     * at the same index as the class, or {@code null} for the classes that are not supertypes of {@code subType}
+     */
+    public static Type[] getExactSuperTypes(Type subType, Class<?>... searchSuperClasses) {
+        return TypeResolver.getExactSuperTypes(subType, searchSuperClasses);
+    }
+
+    /**
+     * Searches the supertypes of {@code type} for all classes in {@code searchSuperClasses} not found yet,
+     * mapping every traversed supertype once for all of them. Each class is found exactly where
+     * {@link #exactSuperType(AnnotatedType, Class)} would find it.
+     *
+     * @return The number of classes still not found
+     */
+    private static int collectExactSuperTypes(AnnotatedType type, Class<?>[] searchSuperClasses, AnnotatedType[] result, int missing) {
+        if (type instanceof AnnotatedParameterizedType || type.getType() instanceof Class || type instanceof AnnotatedArrayType) {
+            Class<?> superClass = erase(type.getType());
+            boolean descend = false;
+            for (int i = 0; i < searchSuperClasses.length; i++) {
+                if (result[i] == null && searchSuperClasses[i].isAssignableFrom(superClass)) {
+                    if (searchSuperClasses[i] == superClass) {
+                        result[i] = type;
+                        missing--;
+                    } else {
+                        descend = true;
+                    }
+                }
+            }
+            if (!descend) {
+                return missing;
+            }
+            if (!superClass.isArray()) {
+                ClassMetadata metadata = ClassMetadata.of(superClass);
+                AnnotatedType declaredSuperClass = metadata.getAnnotatedSuperclass();
+                AnnotatedType[] declaredInterfaces = metadata.getAnnotatedInterfaces();
+                if (declaredSuperClass == null && declaredInterfaces.length == 0 && superClass.isInterface()) {
+                    // the only supertype of an interface without superinterfaces is Object
+                    return collectExactSuperTypes(new AnnotatedTypeImpl(Object.class), searchSuperClasses, result, missing);
+                }
+                if (declaredSuperClass != null && isAnyMissingAssignableFrom(erase(declaredSuperClass.getType()), searchSuperClasses, result)) {
+                    missing = collectExactSuperTypes(mapTypeParameters(declaredSuperClass, type), searchSuperClasses, result, missing);
+                }
+                for (int i = 0; i < declaredInterfaces.length && missing > 0; i++) {
+                    if (isAnyMissingAssignableFrom(erase(declaredInterfaces[i].getType()), searchSuperClasses, result)) {
+                        missing = collectExactSuperTypes(mapTypeParameters(declaredInterfaces[i], type), searchSuperClasses, result, missing);
+                    }
+                }
+                return missing;
+            }
+        }
+
+        for (AnnotatedType superType : getExactDirectSuperTypes(type)) {
+            if (missing == 0) {
+                break;
+            }
+            missing = collectExactSuperTypes(superType, searchSuperClasses, result, missing);
+        }
+        return missing;
+    }
+
+    private static boolean isAnyMissingAssignableFrom(Class<?> clazz, Class<?>[] searchSuperClasses, AnnotatedType[] result) {
+        for (int i = 0; i < searchSuperClasses.length; i++) {
+            if (result[i] == null && searchSuperClasses[i].isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -285,8 +727,9 @@ public class GenericTypeReflector {
      */
     public static AnnotatedType getExactSubType(AnnotatedType superType, Class<?> searchSubClass) {
         Type subType = searchSubClass;
-        if (searchSubClass.getTypeParameters().length > 0) {
-            subType = TypeFactory.parameterizedClass(searchSubClass, searchSubClass.getTypeParameters());
+        TypeVariable<?>[] subClassParameters = ClassMetadata.of(searchSubClass).getTypeParameters();
+        if (subClassParameters.length > 0) {
+            subType = TypeFactory.parameterizedClass(searchSubClass, subClassParameters.clone());
         }
         AnnotatedType annotatedSubType = annotate(subType);
         Class<?> rawSuperType = erase(superType.getType());
@@ -299,7 +742,7 @@ public class GenericTypeReflector {
                 return null;
             }
         }
-        if (searchSubClass.getTypeParameters().length == 0) {
+        if (subClassParameters.length == 0) {
             return annotatedSubType;
         }
         if (!(superType instanceof AnnotatedParameterizedType)) {
@@ -309,14 +752,14 @@ public class GenericTypeReflector {
         AnnotatedParameterizedType matched = (AnnotatedParameterizedType) getExactSuperType(annotatedSubType, rawSuperType);
         if (matched == null) return null;
         VarMap varMap = new VarMap();
-        try {
-            extractVariables(parameterizedSuperType, matched, searchSubClass, varMap);
-            return varMap.map(annotatedSubType);
-        } catch (UnresolvedTypeVariableException e) {
-            return annotate(searchSubClass);
-        } catch (IllegalArgumentException e) {
+        if (!extractVariables(parameterizedSuperType, matched, searchSubClass, varMap)) {
             return null; //Type shape did not match
         }
+        // misses are common (e.g. when probing candidate subtypes), so they are detected up front instead of thrown
+        if (!varMap.bindsAll(subClassParameters)) {
+            return annotate(searchSubClass);
+        }
+        return varMap.map(annotatedSubType);
     }
 
     /**
@@ -336,8 +779,7 @@ public class GenericTypeReflector {
      * </p>
      */
     public static Type getExactSubType(Type superType, Class<?> searchSubClass) {
-        AnnotatedType resolvedSubtype = getExactSubType(annotate(superType), searchSubClass);
-        return resolvedSubtype == null ? null : resolvedSubtype.getType();
+        return TypeResolver.getExactSubType(superType, searchSubClass);
     }
 
     /**
@@ -355,17 +797,17 @@ public class GenericTypeReflector {
         Class<?> clazz = variable.getGenericDeclaration();
         AnnotatedType superType = getExactSuperType(type, clazz);
         if (superType instanceof AnnotatedParameterizedType) {
-            int index = Arrays.asList(clazz.getTypeParameters()).indexOf(variable);
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            int index = metadata.indexOf(variable);
             AnnotatedType resolvedVarType = ((AnnotatedParameterizedType)superType).getAnnotatedActualTypeArguments()[index];
-            return updateAnnotations(resolvedVarType, variable.getAnnotations());
+            return updateAnnotations(resolvedVarType, metadata.getTypeParameterAnnotations(index));
         } else {
             return null;
         }
     }
 
     public static Type getTypeParameter(Type type, TypeVariable<? extends Class<?>> variable) {
-        AnnotatedType typeParameter = getTypeParameter(annotate(type), variable);
-        return typeParameter == null ? null : typeParameter.getType();
+        return TypeResolver.getTypeParameter(type, variable);
     }
 
     /**
@@ -374,8 +816,7 @@ public class GenericTypeReflector {
     public static boolean isSuperType(Type superType, Type subType) {
         if (superType instanceof ParameterizedType || superType instanceof Class || superType instanceof GenericArrayType) {
             Class<?> superClass = erase(superType);
-            AnnotatedType annotatedMappedSubType = getExactSuperType(capture(annotate(subType)), superClass);
-            Type mappedSubType = annotatedMappedSubType == null ? null : annotatedMappedSubType.getType();
+            Type mappedSubType = TypeResolver.getExactSuperType(TypeResolver.capture(subType), superClass);
             if (mappedSubType == null) {
                 return false;
             } else if (superType instanceof Class<?>) {
@@ -396,8 +837,8 @@ public class GenericTypeReflector {
                 assert pMappedSubType.getRawType() == superClass;
                 ParameterizedType pSuperType = (ParameterizedType)superType;
 
-                Type[] superTypeArgs = pSuperType.getActualTypeArguments();
-                Type[] subTypeArgs = pMappedSubType.getActualTypeArguments();
+                Type[] superTypeArgs = ParameterizedTypeImpl.argumentsOf(pSuperType);
+                Type[] subTypeArgs = ParameterizedTypeImpl.argumentsOf(pMappedSubType);
                 assert superTypeArgs.length == subTypeArgs.length;
                 for (int i = 0; i < superTypeArgs.length; i++) {
                     if (! contains(superTypeArgs[i], subTypeArgs[i])) {
@@ -423,6 +864,18 @@ public class GenericTypeReflector {
         }
     }
 
+    /**
+     * Compiles the given supertype for checking many candidate types against it,
+     * with the same results as {@link #isSuperType(Type, Type)}. See {@link SuperTypeMatcher} for details.
+     *
+     * @param superType The class, parameterized type or array type to check candidates against
+     * @return A thread-safe matcher for {@code superType}
+     * @throws IllegalArgumentException If {@code superType} is not a class, a parameterized type or an array type
+     */
+    public static SuperTypeMatcher compileSuperTypeMatcher(Type superType) {
+        return new SuperTypeMatcher(superType);
+    }
+
     private static boolean isArraySupertype(Type arraySuperType, Type subType) {
         Type superTypeComponent = getArrayComponentType(arraySuperType);
         assert superTypeComponent != null;
@@ -441,7 +894,7 @@ public class GenericTypeReflector {
     public static AnnotatedType getArrayComponentType(AnnotatedType type) {
         if (type.getType() instanceof Class) {
             Class<?> clazz = (Class<?>)type.getType();
-            return new AnnotatedTypeImpl(clazz.getComponentType(), clazz.getAnnotations(), type.getAnnotatedOwnerType());
+            return new AnnotatedTypeImpl(clazz.getComponentType(), ClassMetadata.of(clazz).getAnnotations(), type.getAnnotatedOwnerType());
         } else if (type instanceof AnnotatedArrayType) {
             AnnotatedArrayType aType = (AnnotatedArrayType) type;
             return aType.getAnnotatedGenericComponentType();
@@ -455,8 +908,7 @@ public class GenericTypeReflector {
      * Otherwise, returns null.
      */
     public static Type getArrayComponentType(Type type) {
-        AnnotatedType componentType = getArrayComponentType(annotate(type));
-        return componentType == null ? null : componentType.getType();
+        return TypeResolver.getArrayComponentType(type);
     }
 
     private static boolean contains(Type containingType, Type containedType) {
@@ -478,7 +930,12 @@ public class GenericTypeReflector {
         }
     }
 
-    private static void extractVariables(AnnotatedParameterizedType resolvedTyped, AnnotatedParameterizedType unresolvedType, Class<?> declaringClass, VarMap variables) {
+    /**
+     * Binds the variables of {@code declaringClass} found in {@code unresolvedType} to the matching arguments of {@code resolvedTyped}.
+     *
+     * @return {@code false} if the types do not match in shape
+     */
+    private static boolean extractVariables(AnnotatedParameterizedType resolvedTyped, AnnotatedParameterizedType unresolvedType, Class<?> declaringClass, VarMap variables) {
         for (int i = 0; i < resolvedTyped.getAnnotatedActualTypeArguments().length; i++) {
             final AnnotatedType unresolvedParam = unresolvedType.getAnnotatedActualTypeArguments()[i];
             final AnnotatedType resolvedParam = resolvedTyped.getAnnotatedActualTypeArguments()[i];
@@ -486,12 +943,13 @@ public class GenericTypeReflector {
             if (var instanceof TypeVariable && ((TypeVariable<?>) var).getGenericDeclaration() == declaringClass) {
                 variables.add(((TypeVariable<?>) var), resolvedParam);
             } else if (unresolvedParam instanceof AnnotatedParameterizedType) {
-                if (!(resolvedParam instanceof AnnotatedParameterizedType) || !erase(unresolvedParam.getType()).equals(erase(resolvedParam.getType()))) {
-                    throw new IllegalArgumentException("The provided types do not match in shape");
+                if (!(resolvedParam instanceof AnnotatedParameterizedType) || !erase(unresolvedParam.getType()).equals(erase(resolvedParam.getType()))
+                        || !extractVariables((AnnotatedParameterizedType) resolvedParam, (AnnotatedParameterizedType) unresolvedParam, declaringClass, variables)) {
+                    return false;
                 }
-                extractVariables((AnnotatedParameterizedType) resolvedParam, (AnnotatedParameterizedType) unresolvedParam, declaringClass, variables);
             }
         }
+        return true;
     }
 
     /**
@@ -510,8 +968,9 @@ public class GenericTypeReflector {
                 }
             }
 
-            AnnotatedType[] superInterfaces = clazz.getAnnotatedInterfaces();
-            AnnotatedType superClass = clazz.getAnnotatedSuperclass();
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            AnnotatedType[] superInterfaces = metadata.getAnnotatedInterfaces();
+            AnnotatedType superClass = metadata.getAnnotatedSuperclass();
 
             // the only supertype of an interface without superinterfaces is Object
             if (superClass == null && superInterfaces.length == 0 && clazz.isInterface()) {
@@ -589,7 +1048,7 @@ public class GenericTypeReflector {
      * or {@code declaringType} has a type parameter that is used in the return type, or {@code declaringType} is a raw type.
      */
     public static Type getExactReturnType(Method m, Type declaringType) {
-        return getExactReturnType(m, annotate(declaringType)).getType();
+        return getReturnType(m, declaringType, VarMap.MappingMode.EXACT);
     }
 
     /**
@@ -609,12 +1068,31 @@ public class GenericTypeReflector {
      * or {@code declaringType} has a type parameter that is used in the return type, or {@code declaringType} is a raw type.
      */
     public static Type getReturnType(Method m, Type declaringType) {
-        return getReturnType(m, annotate(declaringType)).getType();
+        return getReturnType(m, declaringType, VarMap.MappingMode.ALLOW_INCOMPLETE);
     }
 
     private static AnnotatedType getReturnType(Method m, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return resolveReturnType(m, declaringType, mappingMode);
+        }
+        AnnotatedType returnType = (AnnotatedType) cache.get(new MemberTypeCacheKey(m, toCanonical(declaringType), mappingMode, false),
+                key -> new AnnotatedType[] {resolveReturnType(m, (AnnotatedType) key.declaringType, mappingMode)})[0];
+        return hasWildcardArguments(declaringType) ? copyCaptures(returnType) : returnType;
+    }
+
+    private static Type getReturnType(Method m, Type declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return TypeResolver.getReturnType(m, declaringType, mappingMode);
+        }
+        return (Type) cache.get(new MemberTypeCacheKey(m, declaringType, mappingMode, false),
+                key -> new Type[] {TypeResolver.getReturnType(m, (Type) key.declaringType, mappingMode)})[0];
+    }
+
+    private static AnnotatedType resolveReturnType(Method m, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
         AnnotatedType returnType = m.getAnnotatedReturnType();
-        AnnotatedType exactDeclaringType = getExactSuperType(capture(declaringType), m.getDeclaringClass());
+        AnnotatedType exactDeclaringType = exactSuperType(capture(declaringType), m.getDeclaringClass());
         if (exactDeclaringType == null) { // capture(type) is not a subtype of m.getDeclaringClass()
             throw new IllegalArgumentException("The method " + m + " is not a member of type " + declaringType);
         }
@@ -636,7 +1114,7 @@ public class GenericTypeReflector {
      * or {@code declaringType} has a type parameter that is used in the type of the field, or {@code declaringType} is a raw type.
      */
     public static Type getExactFieldType(Field f, Type type) {
-        return getExactFieldType(f, annotate(type)).getType();
+        return getFieldType(f, type, VarMap.MappingMode.EXACT);
     }
 
     /**
@@ -656,12 +1134,31 @@ public class GenericTypeReflector {
      * or {@code declaringType} has a type parameter that is used in the type of the field, or {@code declaringType} is a raw type.
      */
     public static Type getFieldType(Field f, Type type) {
-        return getFieldType(f, annotate(type)).getType();
+        return getFieldType(f, type, VarMap.MappingMode.ALLOW_INCOMPLETE);
     }
 
     private static AnnotatedType getFieldType(Field f, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return resolveFieldType(f, declaringType, mappingMode);
+        }
+        AnnotatedType fieldType = (AnnotatedType) cache.get(new MemberTypeCacheKey(f, toCanonical(declaringType), mappingMode, false),
+                key -> new AnnotatedType[] {resolveFieldType(f, (AnnotatedType) key.declaringType, mappingMode)})[0];
+        return hasWildcardArguments(declaringType) ? copyCaptures(fieldType) : fieldType;
+    }
+
+    private static Type getFieldType(Field f, Type declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return TypeResolver.getFieldType(f, declaringType, mappingMode);
+        }
+        return (Type) cache.get(new MemberTypeCacheKey(f, declaringType, mappingMode, false),
+                key -> new Type[] {TypeResolver.getFieldType(f, (Type) key.declaringType, mappingMode)})[0];
+    }
+
+    private static AnnotatedType resolveFieldType(Field f, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
         AnnotatedType returnType = f.getAnnotatedType();
-        AnnotatedType exactDeclaringType = getExactSuperType(capture(declaringType), f.getDeclaringClass());
+        AnnotatedType exactDeclaringType = exactSuperType(capture(declaringType), f.getDeclaringClass());
         if (exactDeclaringType == null) { // capture(type) is not a subtype of f.getDeclaringClass()
             throw new IllegalArgumentException("The field " + f + " is not a member of type " + declaringType);
         }
@@ -683,7 +1180,7 @@ public class GenericTypeReflector {
      * or {@code declaringType} has a type parameter that is used in one of the parameters, or {@code declaringType} is a raw type.
      */
     public static Type[] getExactParameterTypes(Executable exe, Type declaringType) {
-        return mapArray(getExactParameterTypes(exe, annotate(declaringType)), Type[]::new, AnnotatedType::getType);
+        return getParameterTypes(exe, declaringType, VarMap.MappingMode.EXACT);
     }
 
     public static AnnotatedType[] getParameterTypes(Executable exe, AnnotatedType declaringType) {
@@ -691,12 +1188,31 @@ public class GenericTypeReflector {
     }
 
     public static Type[] getParameterTypes(Executable exe, Type declaringType) {
-        return mapArray(getParameterTypes(exe, annotate(declaringType)), Type[]::new, AnnotatedType::getType);
+        return getParameterTypes(exe, declaringType, VarMap.MappingMode.ALLOW_INCOMPLETE);
     }
 
     private static AnnotatedType[] getParameterTypes(Executable exe, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return resolveParameterTypes(exe, declaringType, mappingMode);
+        }
+        AnnotatedType[] parameterTypes = (AnnotatedType[]) cache.get(new MemberTypeCacheKey(exe, toCanonical(declaringType), mappingMode, true),
+                key -> resolveParameterTypes(exe, (AnnotatedType) key.declaringType, mappingMode));
+        return hasWildcardArguments(declaringType) ? copyCaptures(parameterTypes) : parameterTypes.clone();
+    }
+
+    private static Type[] getParameterTypes(Executable exe, Type declaringType, VarMap.MappingMode mappingMode) {
+        BoundedCache<MemberTypeCacheKey, Object[]> cache = memberTypeCache;
+        if (cache == null || capturesAfresh(declaringType)) {
+            return TypeResolver.getParameterTypes(exe, declaringType, mappingMode);
+        }
+        return (Type[]) cache.get(new MemberTypeCacheKey(exe, declaringType, mappingMode, true),
+                key -> TypeResolver.getParameterTypes(exe, (Type) key.declaringType, mappingMode)).clone();
+    }
+
+    private static AnnotatedType[] resolveParameterTypes(Executable exe, AnnotatedType declaringType, VarMap.MappingMode mappingMode) {
         AnnotatedType[] parameterTypes = exe.getAnnotatedParameterTypes();
-        AnnotatedType exactDeclaringType = getExactSuperType(capture(declaringType), exe.getDeclaringClass());
+        AnnotatedType exactDeclaringType = exactSuperType(capture(declaringType), exe.getDeclaringClass());
         if (exactDeclaringType == null) { // capture(type) is not a subtype of exe.getDeclaringClass()
             throw new IllegalArgumentException("The method/constructor " + exe + " is not a member of type " + declaringType);
         }
@@ -724,6 +1240,37 @@ public class GenericTypeReflector {
      * @see #capture(AnnotatedType)
      */
     public static AnnotatedParameterizedType capture(AnnotatedParameterizedType type) {
+        if (!hasWildcardArguments(type)) { // capture conversion is the identity, neither the type nor its owners change
+            return type;
+        }
+        BoundedCache<Object, Object> cache = captureCache;
+        if (cache == null) {
+            return captureFresh(type);
+        }
+        AnnotatedType captured = (AnnotatedType) cache.get(toCanonical(type), key -> captureFresh((AnnotatedParameterizedType) key));
+        return (AnnotatedParameterizedType) copyCaptures(captured);
+    }
+
+    /**
+     * Copies all the captures within the given type, keeping the references between them. Annotated captures are
+     * changed in place when their annotations are updated (see {@link #replaceAnnotations(AnnotatedType, Annotation[])}),
+     * so shared ones, and shared types containing them, are never handed out as they are.
+     * The copies are equal to the originals and share their {@link CaptureType}s.
+     */
+    static AnnotatedType copyCaptures(AnnotatedType type) {
+        return transform(type, new CaptureCopier());
+    }
+
+    /**
+     * Copies all the captures within the given types, like {@link #copyCaptures(AnnotatedType)},
+     * with the copies in all the types referring to the same captures.
+     */
+    static AnnotatedType[] copyCaptures(AnnotatedType[] types) {
+        CaptureCopier copier = new CaptureCopier();
+        return mapArray(types, AnnotatedType[]::new, type -> transform(type, copier));
+    }
+
+    private static AnnotatedParameterizedType captureFresh(AnnotatedParameterizedType type) {
         // the map from parameters to their captured equivalent
 
         VarMap varMap = new VarMap();
@@ -733,7 +1280,7 @@ public class GenericTypeReflector {
 
         Class<?> clazz = (Class<?>)((ParameterizedType)type.getType()).getRawType();
         AnnotatedType[] arguments = type.getAnnotatedActualTypeArguments();
-        TypeVariable<?>[] vars = clazz.getTypeParameters();
+        TypeVariable<?>[] vars = ClassMetadata.of(clazz).getTypeParameters();
         AnnotatedType[] capturedArguments = new AnnotatedType[arguments.length];
 
         assert arguments.length == vars.length; // NICE throw an explaining exception
@@ -754,7 +1301,7 @@ public class GenericTypeReflector {
         ParameterizedType inner = (ParameterizedType) type.getType();
         AnnotatedType ownerType = capture(type.getAnnotatedOwnerType());
         Type[] rawArgs = mapArray(capturedArguments, Type[]::new, AnnotatedType::getType);
-        ParameterizedType nn = new ParameterizedTypeImpl(clazz, rawArgs, ownerType == null ? null : ownerType.getType());
+        ParameterizedType nn = TypeFactory.intern(new ParameterizedTypeImpl(clazz, rawArgs, ownerType == null ? null : ownerType.getType()));
         return new AnnotatedParameterizedTypeImpl(nn, type.getAnnotations(), capturedArguments, ownerType);
     }
 
@@ -793,7 +1340,38 @@ public class GenericTypeReflector {
     }
 
     private static AnnotatedType annotate(Type type, boolean expandGenerics) {
-        return annotate(type, expandGenerics, new HashMap<>());
+        return annotate(type, expandGenerics, containsCapture(type) ? new HashMap<>() : null);
+    }
+
+    /**
+     * Checks whether the {@link CaptureType} cache is needed for annotating the given type.
+     * Does not descend into captures themselves, as those may be recursive.
+     */
+    private static boolean containsCapture(Type type) {
+        if (type instanceof CaptureType) {
+            return true;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            for (Type argument : ParameterizedTypeImpl.argumentsOf(parameterized)) {
+                if (containsCapture(argument)) return true;
+            }
+            return containsCapture(parameterized.getOwnerType());
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            for (Type bound : wildcard.getUpperBounds()) {
+                if (containsCapture(bound)) return true;
+            }
+            for (Type bound : wildcard.getLowerBounds()) {
+                if (containsCapture(bound)) return true;
+            }
+            return false;
+        }
+        if (type instanceof GenericArrayType) {
+            return containsCapture(((GenericArrayType) type).getGenericComponentType());
+        }
+        return false;
     }
 
     /**
@@ -830,7 +1408,7 @@ public class GenericTypeReflector {
      *
      * @param type The type to annotate
      * @param cache The cache for already encountered {@link CaptureType}s. Necessary because
-     *       {@link CaptureType}s can have infinitely recursive structure.
+     *       {@link CaptureType}s can have infinitely recursive structure. {@code null} if the type contains none.
      *
      * @return Type whose structure has been recursively annotated
      *
@@ -845,13 +1423,15 @@ public class GenericTypeReflector {
         }
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterized = (ParameterizedType) type;
-            AnnotatedType[] params = new AnnotatedType[parameterized.getActualTypeArguments().length];
+            ClassMetadata metadata = ClassMetadata.of(erase(type));
+            Type[] arguments = ParameterizedTypeImpl.argumentsOf(parameterized);
+            AnnotatedType[] params = new AnnotatedType[arguments.length];
             for (int i = 0; i < params.length; i++) {
-                AnnotatedType param = annotate(parameterized.getActualTypeArguments()[i], expandGenerics, cache);
-                params[i] = updateAnnotations(param, erase(type).getTypeParameters()[i].getAnnotations());
+                AnnotatedType param = annotate(arguments[i], expandGenerics, cache);
+                params[i] = updateAnnotations(param, metadata.getTypeParameterAnnotations(i));
             }
             AnnotatedType owner = annotate(parameterized.getOwnerType(), expandGenerics, cache);
-            return new AnnotatedParameterizedTypeImpl(parameterized, erase(type).getAnnotations(), params, owner);
+            return new AnnotatedParameterizedTypeImpl(parameterized, metadata.getAnnotations(), params, owner);
         }
         if (type instanceof CaptureType) {
             CaptureCacheKey key = new CaptureCacheKey(((CaptureType) type));
@@ -875,7 +1455,7 @@ public class GenericTypeReflector {
                     bound -> annotate(bound, expandGenerics, cache));
             AnnotatedType[] upperBounds = mapArray(wildcard.getUpperBounds(), AnnotatedType[]::new,
                     bound -> annotate(bound, expandGenerics, cache));
-            return new AnnotatedWildcardTypeImpl(wildcard, erase(type).getAnnotations(), lowerBounds, upperBounds);
+            return new AnnotatedWildcardTypeImpl(wildcard, ClassMetadata.of(erase(type)).getAnnotations(), lowerBounds, upperBounds);
         }
         if (type instanceof TypeVariable) {
             return new AnnotatedTypeVariableImpl((TypeVariable<?>) type);
@@ -886,15 +1466,11 @@ public class GenericTypeReflector {
         }
         if (type instanceof Class) {
             Class<?> clazz = (Class<?>) type;
-            if (clazz.isArray()) {
-                Class<?> componentClass = clazz.getComponentType();
-                return AnnotatedArrayTypeImpl.createArrayType(annotate(componentClass), new Annotation[0]);
-            }
-            if (clazz.getTypeParameters().length > 0 && expandGenerics) {
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            if (expandGenerics && metadata.getTypeParameters().length > 0) {
                 return expandClassGenerics(clazz);
             }
-            AnnotatedType owner = clazz.getDeclaringClass() != null ? annotate(clazz.getDeclaringClass()) : null;
-            return new AnnotatedTypeImpl(clazz, clazz.getAnnotations(), owner);
+            return metadata.getAnnotatedType();
         }
         throw new IllegalArgumentException("Unrecognized type: " + type.getTypeName());
     }
@@ -950,7 +1526,7 @@ public class GenericTypeReflector {
      * @return A type of the same structure as the original but with replaced annotations
      */
     public static <T extends AnnotatedType> T updateAnnotations(T original, Annotation[] annotations) {
-        if (annotations == null || annotations.length == 0 || Arrays.equals(original.getAnnotations(), annotations)) {
+        if (annotations == null || annotations.length == 0 || Arrays.equals(AnnotatedTypeImpl.annotationsOf(original), annotations)) {
             return original;
         }
         return replaceAnnotations(original, merge(original.getAnnotations(), annotations));
@@ -1004,30 +1580,49 @@ public class GenericTypeReflector {
      * @return The new parameterized type
      */
     public static AnnotatedParameterizedType replaceParameters(AnnotatedParameterizedType type, AnnotatedType[] typeParameters) {
-        return replaceParameters(type, new Annotation[0], typeParameters, null);
+        return replaceParameters(type, new Annotation[0], typeParameters, null, false);
     }
 
     public static AnnotatedParameterizedType replaceParameters(AnnotatedParameterizedType type, AnnotatedType[] typeParameters, AnnotatedType ownerType) {
-        return replaceParameters(type, new Annotation[0], typeParameters, ownerType);
+        return replaceParameters(type, new Annotation[0], typeParameters, ownerType, false);
     }
 
-    private static AnnotatedParameterizedType replaceParameters(AnnotatedParameterizedType type, Annotation[] annotations, AnnotatedType[] typeParameters, AnnotatedType ownerType) {
+    /**
+     * Rebuilds the given parameterized type with new type parameters. The bounds of the new parameters are only
+     * checked if they are not {@code trusted} and differ from the original ones (as the original type is already valid).
+     */
+    private static AnnotatedParameterizedType replaceParameters(AnnotatedParameterizedType type, Annotation[] annotations, AnnotatedType[] typeParameters,
+                                                                AnnotatedType ownerType, boolean trusted) {
         Type[] rawArguments = mapArray(typeParameters, Type[]::new, AnnotatedType::getType);
         ParameterizedType inner = (ParameterizedType) type.getType();
-        ParameterizedType rawType = (ParameterizedType) TypeFactory.parameterizedInnerClass(ownerType != null ? ownerType.getType() : inner.getOwnerType(), erase(inner), rawArguments);
+        Type rawOwner = ownerType != null ? ownerType.getType() : inner.getOwnerType();
+        ParameterizedType rawType;
+        if (trusted || (Objects.equals(rawOwner, inner.getOwnerType()) && Arrays.equals(rawArguments, ParameterizedTypeImpl.argumentsOf(inner)))) {
+            rawType = (ParameterizedType) TypeFactory.trustedParameterizedInnerClass(rawOwner, erase(inner), rawArguments);
+        } else {
+            rawType = (ParameterizedType) TypeFactory.parameterizedInnerClass(rawOwner, erase(inner), rawArguments);
+        }
         return new AnnotatedParameterizedTypeImpl(rawType, merge(type.getAnnotations(), annotations), typeParameters, ownerType != null ? ownerType : type.getAnnotatedOwnerType());
     }
 
     /**
      * Returns an {@link AnnotatedType} functionally identical to the given one, but in a canonical form that
      * implements {@code equals} and {@code hashCode}.
+     * Types returned from here are remembered to be canonical, so passing them in again returns them straight away.
      *
      * @param type The type to turn into the canonical form
      *
      * @return A type functionally equivalent to the given one, but in the canonical form
      */
     public static <T extends AnnotatedType> T toCanonical(T type) {
-        return toCanonical(type, Function.identity());
+        if (type instanceof AnnotatedTypeImpl && ((AnnotatedTypeImpl) type).isCanonical()) {
+            return type;
+        }
+        T canonical = toCanonical(type, Function.identity());
+        if (canonical instanceof AnnotatedTypeImpl) {
+            ((AnnotatedTypeImpl) canonical).markCanonical();
+        }
+        return canonical;
     }
 
     /**
@@ -1062,34 +1657,58 @@ public class GenericTypeReflector {
         return (T) transform(type, new TypeVisitor() {
             @Override
             protected AnnotatedType visitClass(AnnotatedType type) {
-                Annotation[] annotations = type.getAnnotations();
                 Class<?> raw = (Class<?>) type.getType();
-                annotations = merge(annotations, raw.getAnnotations());
-                AnnotatedType owner = type.getAnnotatedOwnerType();
-                if (owner != null) {
-                    owner = transform(owner, this);
+                Annotation[] classAnnotations = ClassMetadata.of(raw).getAnnotations();
+                AnnotatedType original = type.getAnnotatedOwnerType();
+                AnnotatedType owner = original == null ? null : transform(original, this);
+                Type leaf = leafTransformer.apply(raw);
+                if (owner == original && leaf == raw && isCanonicalNode(type, classAnnotations)) {
+                    return type;
                 }
-                return new AnnotatedTypeImpl(leafTransformer.apply(type.getType()), annotations, owner);
+                return new AnnotatedTypeImpl(leaf, merge(type.getAnnotations(), classAnnotations), owner);
             }
 
             @Override
             protected AnnotatedType visitArray(AnnotatedArrayType type) {
-                return new AnnotatedArrayTypeImpl(leafTransformer.apply(type.getType()), type.getAnnotations(),
-                        transform(type.getAnnotatedGenericComponentType(), this));
+                AnnotatedType original = type.getAnnotatedGenericComponentType();
+                AnnotatedType componentType = transform(original, this);
+                Type leaf = leafTransformer.apply(type.getType());
+                if (componentType == original && leaf == type.getType() && reuses(type)) {
+                    return type;
+                }
+                return new AnnotatedArrayTypeImpl(leaf, type.getAnnotations(), componentType);
             }
 
             @Override
             protected AnnotatedType visitParameterizedType(AnnotatedParameterizedType type) {
-                AnnotatedType[] params = Arrays.stream(type.getAnnotatedActualTypeArguments())
-                        .map(param -> transform(param, this))
-                        .toArray(AnnotatedType[]::new);
+                AnnotatedType[] arguments = type.getAnnotatedActualTypeArguments();
+                AnnotatedType[] params = transformAll(arguments);
+                AnnotatedType original = type.getAnnotatedOwnerType();
+                AnnotatedType owner = original == null ? null : transform(original, this);
+                Class<?> raw = (Class<?>)((ParameterizedType) type.getType()).getRawType();
+                Annotation[] classAnnotations = ClassMetadata.of(raw).getAnnotations();
+                if (params == arguments && owner == original && isCanonicalNode(type, classAnnotations)) {
+                    return type;
+                }
+                return GenericTypeReflector.replaceParameters(type, classAnnotations, params, owner, true);
+            }
 
-                AnnotatedType owner = type.getAnnotatedOwnerType();
-                if (owner != null) {
-                    owner = transform(owner, this);
+            @Override
+            boolean reuses(AnnotatedType type) {
+                return type instanceof AnnotatedTypeImpl;
+            }
+
+            private boolean isCanonicalNode(AnnotatedType type, Annotation[] classAnnotations) {
+                if (!reuses(type)) {
+                    return false;
                 }
-                Class<?> raw = (Class<?>)((ParameterizedType) type.getType()).getRawType();
-                return GenericTypeReflector.replaceParameters(type, raw.getAnnotations(), params, owner);
+                List<Annotation> annotations = Arrays.asList(AnnotatedTypeImpl.annotationsOf(type));
+                for (Annotation annotation : classAnnotations) {
+                    if (!annotations.contains(annotation)) {
+                        return false;
+                    }
+                }
+                return true;
             }
         });
     }
@@ -1099,7 +1718,7 @@ public class GenericTypeReflector {
             @Override
             public AnnotatedType visitClass(AnnotatedType type) {
                 Class<?> clazz = (Class<?>) type.getType();
-                if (clazz.getTypeParameters().length > 0) {
+                if (ClassMetadata.of(clazz).getTypeParameters().length > 0) {
                     return expandClassGenerics(clazz);
                 }
                 return type;
@@ -1137,6 +1756,37 @@ public class GenericTypeReflector {
         return visitor.visitUnmatched(type);
     }
 
+    /**
+     * Recursively computes a result from the structure of the given type, as implemented by the provided {@code TypeQuery}.
+     * Unlike {@link #transform(AnnotatedType, TypeVisitor)}, no types are created in the process.
+     *
+     * @param type The type to query
+     * @param query Query computing the result
+     * @param <R> The type of the result
+     * @return The result of applying the query to the given type
+     */
+    public static <R> R query(AnnotatedType type, TypeQuery<R> query) {
+        if (type instanceof AnnotatedParameterizedType) {
+            return query.visitParameterizedType((AnnotatedParameterizedType) type);
+        }
+        if (type instanceof AnnotatedWildcardType) {
+            return query.visitWildcardType((AnnotatedWildcardType) type);
+        }
+        if (type instanceof AnnotatedTypeVariable) {
+            return query.visitVariable((AnnotatedTypeVariable) type);
+        }
+        if (type instanceof AnnotatedArrayType) {
+            return query.visitArray((AnnotatedArrayType) type);
+        }
+        if (type instanceof AnnotatedCaptureType) {
+            return query.visitCaptureType((AnnotatedCaptureType) type);
+        }
+        if (type.getType() instanceof Class) {
+            return query.visitClass(type);
+        }
+        return query.visitUnmatched(type);
+    }
+
     /**
      * Recursively traverses the structure of the given type, reducing all bounded types
      * ({@link AnnotatedTypeVariable}, {@link AnnotatedWildcardType} and {@link AnnotatedCaptureType})
@@ -1183,9 +1833,10 @@ public class GenericTypeReflector {
     }
 
     private static AnnotatedParameterizedType expandClassGenerics(Class<?> type) {
-        ParameterizedType inner = new ParameterizedTypeImpl(type, type.getTypeParameters(), type.getDeclaringClass());
-        AnnotatedType[] params = mapArray(type.getTypeParameters(), AnnotatedType[]::new, GenericTypeReflector::annotate);
-        return new AnnotatedParameterizedTypeImpl(inner, type.getAnnotations(), params, null);
+        ClassMetadata metadata = ClassMetadata.of(type);
+        ParameterizedType inner = TypeFactory.intern(new ParameterizedTypeImpl(type, metadata.getTypeParameters().clone(), type.getDeclaringClass()));
+        AnnotatedType[] params = mapArray(metadata.getTypeParameters(), AnnotatedType[]::new, GenericTypeReflector::annotate);
+        return new AnnotatedParameterizedTypeImpl(inner, metadata.getAnnotations(), params, null);
     }
 
     /**
@@ -1197,6 +1848,20 @@ public class GenericTypeReflector {
      */
     @SuppressWarnings({"UseBulkOperation", "ManualArrayToCollectionCopy"})
     public static Annotation[] merge(Annotation[]... annotations) {
+        Annotation[] single = null;
+        int nonEmpty = 0;
+        for (Annotation[] annos : annotations) {
+            if (annos.length > 0) {
+                single = annos;
+                nonEmpty++;
+            }
+        }
+        if (nonEmpty == 0) {
+            return new Annotation[0];
+        }
+        if (nonEmpty == 1) {
+            return single.clone();
+        }
         Set<Annotation> result = new LinkedHashSet<>();
         for (Annotation[] annos : annotations) {
             for (Annotation anno : annos) {
@@ -1213,7 +1878,7 @@ public class GenericTypeReflector {
         if (t1.length != t2.length) return false;
 
         for (int i = 0; i < t1.length; i++) {
-            if (!t1[i].getType().equals(t2[i].getType()) || !Arrays.equals(t1[i].getAnnotations(), t2[i].getAnnotations())) {
+            if (!t1[i].getType().equals(t2[i].getType()) || !Arrays.equals(AnnotatedTypeImpl.annotationsOf(t1[i]), AnnotatedTypeImpl.annotationsOf(t2[i]))) {
                 return false;
             }
         }
@@ -1221,11 +1886,14 @@ public class GenericTypeReflector {
     }
 
     public static int hashCode(AnnotatedType... types) {
-        int typeHash = Arrays.stream(types)
-                .mapToInt(t -> t.getType().hashCode())
-                .reduce(0, (x,y) -> 127 * x ^ y);
-        int annotationHash = hashCode(Arrays.stream(types)
-                .flatMap(t -> Arrays.stream(t.getAnnotations())));
+        int typeHash = 0;
+        int annotationHash = 0;
+        for (AnnotatedType t : types) {
+            typeHash = 127 * typeHash ^ t.getType().hashCode();
+            for (Annotation a : AnnotatedTypeImpl.annotationsOf(t)) {
+                annotationHash = 127 * annotationHash ^ (31 * a.annotationType().hashCode() ^ a.hashCode());
+            }
+        }
         return 31 * typeHash ^ annotationHash;
     }
 
@@ -1261,8 +1929,8 @@ public class GenericTypeReflector {
             return;
         }
 
-        for (AnnotatedType superType : getExactDirectSuperTypes(annotate(type))) {
-            buildUpperBoundClassAndInterfaces(superType.getType(), result);
+        for (Type superType : TypeResolver.getExactDirectSuperTypes(type)) {
+            buildUpperBoundClassAndInterfaces(superType, result);
         }
     }
 
@@ -1306,6 +1974,83 @@ public class GenericTypeReflector {
         }
     }
 
+    /**
+     * The key of the optional {@link #getExactSuperType(AnnotatedType, Class)} cache.
+     * The subtype is either a plain {@link Type} or an {@link AnnotatedType} in canonical form,
+     * so it implements {@code equals} and {@code hashCode}. The two never equal each other.
+     */
+    private static final class SuperTypeCacheKey {
+        private final Object subType;
+        private final Class<?> searchSuperClass;
+        private final int hash;
+
+        SuperTypeCacheKey(Object subType, Class<?> searchSuperClass) {
+            this.subType = subType;
+            this.searchSuperClass = searchSuperClass;
+            this.hash = 31 * subType.hashCode() ^ searchSuperClass.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof SuperTypeCacheKey)) return false;
+
+            SuperTypeCacheKey that = (SuperTypeCacheKey) obj;
+            return this.searchSuperClass == that.searchSuperClass && this.subType.equals(that.subType);
+        }
+    }
+
+    /**
+     * The key of the optional member type cache, see {@link #enableMemberTypeCache(int)}.
+     * The declaring type is either a plain {@link Type} or an {@link AnnotatedType} in canonical form,
+     * so it implements {@code equals} and {@code hashCode}. The two never equal each other.
+     */
+    private static final class MemberTypeCacheKey {
+        private final Member member;
+        private final Object declaringType;
+        private final VarMap.MappingMode mappingMode;
+        private final boolean parameterTypes;
+        private final int hash;
+
+        MemberTypeCacheKey(Member member, Object declaringType, VarMap.MappingMode mappingMode, boolean parameterTypes) {
+            this.member = member;
+            this.declaringType = declaringType;
+            this.mappingMode = mappingMode;
+            this.parameterTypes = parameterTypes;
+            this.hash = ((31 * member.hashCode() ^ declaringType.hashCode()) * 2 + mappingMode.ordinal()) * 2 + (parameterTypes ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof MemberTypeCacheKey)) return false;
+
+            MemberTypeCacheKey that = (MemberTypeCacheKey) obj;
+            return this.mappingMode == that.mappingMode && this.parameterTypes == that.parameterTypes && this.member.equals(that.member)
+                    && this.declaringType.equals(that.declaringType);
+        }
+    }
+
+    /**
+     * Rebuilds every capture within a type.
+     */
+    private static class CaptureCopier extends TypeVisitor {
+        @Override
+        boolean reuses(AnnotatedType type) {
+            return !(type instanceof AnnotatedCaptureType);
+        }
+    }
+
     private static class AnnotatedCaptureCacheKey {
         AnnotatedCaptureType capture;
         CaptureType raw;
@@ -1317,7 +2062,7 @@ public class GenericTypeReflector {
 
         @Override
         public int hashCode() {
-            return 127 * raw.getWildcardType().hashCode() ^ raw.getTypeVariable().hashCode() ^ GenericTypeReflector.hashCode(Arrays.stream(capture.getAnnotations()));
+            return 127 * raw.getWildcardType().hashCode() ^ raw.getTypeVariable().hashCode() ^ GenericTypeReflector.hashCode(Arrays.stream(AnnotatedTypeImpl.annotationsOf(capture)));
         }
 
         @Override
@@ -1328,7 +2073,7 @@ public class GenericTypeReflector {
             AnnotatedCaptureCacheKey that = ((AnnotatedCaptureCacheKey) obj);
             return this.capture == that.capture ||
                    (new CaptureCacheKey(raw).equals(new CaptureCacheKey(that.raw))
-                    && Arrays.equals(capture.getAnnotations(), that.capture.getAnnotations()));
+                    && Arrays.equals(AnnotatedTypeImpl.annotationsOf(capture), AnnotatedTypeImpl.annotationsOf(that.capture)));
         }
     }
 }
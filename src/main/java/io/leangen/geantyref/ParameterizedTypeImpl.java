@@ -14,11 +14,13 @@ class ParameterizedTypeImpl implements ParameterizedType {
     private final Class<?> rawType;
     private final Type[] actualTypeArguments;
     private final Type ownerType;
+    private final int hash;
 
     ParameterizedTypeImpl(Class<?> rawType, Type[] actualTypeArguments, Type ownerType) {
         this.rawType = rawType;
         this.actualTypeArguments = actualTypeArguments;
         this.ownerType = ownerType;
+        this.hash = Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
     }
 
     public Type getRawType() {
@@ -26,27 +28,36 @@ class ParameterizedTypeImpl implements ParameterizedType {
     }
 
     public Type[] getActualTypeArguments() {
-        return actualTypeArguments;
+        return actualTypeArguments.clone();
     }
 
     public Type getOwnerType() {
         return ownerType;
     }
 
+    /**
+     * Returns the type arguments of the given type without copying them where possible, so the result must not be modified.
+     */
+    static Type[] argumentsOf(ParameterizedType type) {
+        return type instanceof ParameterizedTypeImpl ? ((ParameterizedTypeImpl) type).actualTypeArguments : type.getActualTypeArguments();
+    }
+
     @Override
     public boolean equals(Object other) {
+        if (this == other) return true;
         if (!(other instanceof ParameterizedType)) return false;
+        if (other instanceof ParameterizedTypeImpl && ((ParameterizedTypeImpl) other).hash != hash) return false;
 
         ParameterizedType that = (ParameterizedType) other;
         return this == that ||
                 Objects.equals(this.ownerType, that.getOwnerType())
                         && Objects.equals(this.rawType, that.getRawType())
-                        && Arrays.equals(this.actualTypeArguments, that.getActualTypeArguments());
+                        && Arrays.equals(this.actualTypeArguments, argumentsOf(that));
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.actualTypeArguments) ^ Objects.hashCode(this.ownerType) ^ Objects.hashCode(this.rawType);
+        return hash;
     }
 
     @Override
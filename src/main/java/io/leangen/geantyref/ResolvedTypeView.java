@@ -0,0 +1,218 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields, methods and constructors of a type, with their types resolved against it.
+ * <p>All members declared by the class of the type and by all of its superclasses and interfaces are resolved at once:
+ * the type is captured a single time, its exact supertypes are found in a single traversal of the hierarchy,
+ * and the type parameters of each declaring class are bound once for all of its members. Resolving a type may change
+ * the annotations of the captures it refers to, so for types with wildcard arguments, each supertype is found from
+ * its own copy of the captured type, each member is resolved against its own copy of its declaring type,
+ * and the resolved types are copied whenever they are returned.
+ * Each resolved type is the same as returned by {@link GenericTypeReflector#getFieldType(Field, AnnotatedType)},
+ * {@link GenericTypeReflector#getReturnType(Method, AnnotatedType)} or
+ * {@link GenericTypeReflector#getParameterTypes(Executable, AnnotatedType)} respectively,
+ * so type variables that can not be resolved (e.g. those declared by generic methods) are kept.</p>
+ * <p>Views are immutable and safe to share between threads.</p>
+ *
+ * @see GenericTypeReflector#getResolvedTypeView(AnnotatedType)
+ */
+public final class ResolvedTypeView {
+
+    private final AnnotatedType type;
+    private final boolean captured;
+    private final List<Field> fields;
+    private final List<Method> methods;
+    private final List<Constructor<?>> constructors;
+    private final Map<Field, AnnotatedType> fieldTypes;
+    private final Map<Method, AnnotatedType> returnTypes;
+    private final Map<Executable, AnnotatedType[]> parameterTypes;
+
+    ResolvedTypeView(AnnotatedType type) {
+        if (!(type instanceof AnnotatedParameterizedType || type.getType() instanceof Class) || GenericTypeReflector.erase(type.getType()).isArray()) {
+            throw new IllegalArgumentException("Members can only be resolved in classes and parameterized types, not in " + type.getType().getTypeName());
+        }
+        this.type = type;
+        this.captured = GenericTypeReflector.hasWildcardArguments(type.getType());
+        Class<?>[] declaringClasses = declaringClasses(GenericTypeReflector.erase(type.getType()));
+        AnnotatedType[] declaringTypes = declaringTypes(GenericTypeReflector.capture(type), declaringClasses);
+
+        List<Field> fields = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+        Map<Field, AnnotatedType> fieldTypes = new HashMap<>();
+        Map<Method, AnnotatedType> returnTypes = new HashMap<>();
+        Map<Executable, AnnotatedType[]> parameterTypes = new HashMap<>();
+        for (int i = 0; i < declaringClasses.length; i++) {
+            VarMap varMap = GenericTypeReflector.varMapOf(declaringTypes[i]);
+            for (Field field : declaringClasses[i].getDeclaredFields()) {
+                fields.add(field);
+                fieldTypes.put(field, map(field.getAnnotatedType(), varMap(declaringTypes[i], varMap)));
+            }
+            for (Method method : declaringClasses[i].getDeclaredMethods()) {
+                methods.add(method);
+                returnTypes.put(method, map(method.getAnnotatedReturnType(), varMap(declaringTypes[i], varMap)));
+                parameterTypes.put(method, map(method.getAnnotatedParameterTypes(), varMap(declaringTypes[i], varMap)));
+            }
+        }
+        Constructor<?>[] constructors = declaringClasses[0].getDeclaredConstructors();
+        VarMap varMap = GenericTypeReflector.varMapOf(declaringTypes[0]);
+        for (Constructor<?> constructor : constructors) {
+            parameterTypes.put(constructor, map(constructor.getAnnotatedParameterTypes(), varMap(declaringTypes[0], varMap)));
+        }
+
+        this.fields = Collections.unmodifiableList(fields);
+        this.methods = Collections.unmodifiableList(methods);
+        this.constructors = Collections.unmodifiableList(Arrays.asList(constructors));
+        this.fieldTypes = fieldTypes;
+        this.returnTypes = returnTypes;
+        this.parameterTypes = parameterTypes;
+    }
+
+    /**
+     * Returns the type whose members are resolved.
+     */
+    public AnnotatedType getType() {
+        return type;
+    }
+
+    /**
+     * Returns all fields declared by the class of the type and by its supertypes, starting with the class itself.
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns all methods declared by the class of the type and by its supertypes, starting with the class itself.
+     * Overridden methods are included together with the methods overriding them.
+     */
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns all constructors declared by the class of the type.
+     */
+    public List<Constructor<?>> getConstructors() {
+        return constructors;
+    }
+
+    /**
+     * Returns the resolved type of the given field.
+     *
+     * @throws IllegalArgumentException If the field is not a member of the type
+     */
+    public AnnotatedType getFieldType(Field field) {
+        return unshared(member(fieldTypes.get(field), field));
+    }
+
+    /**
+     * Returns the resolved return type of the given method.
+     *
+     * @throws IllegalArgumentException If the method is not a member of the type
+     */
+    public AnnotatedType getReturnType(Method method) {
+        return unshared(member(returnTypes.get(method), method));
+    }
+
+    /**
+     * Returns the resolved parameter types of the given method or constructor.
+     *
+     * @throws IllegalArgumentException If the method or constructor is not a member of the type
+     */
+    public AnnotatedType[] getParameterTypes(Executable executable) {
+        AnnotatedType[] resolved = member(parameterTypes.get(executable), executable);
+        return captured ? GenericTypeReflector.copyCaptures(resolved) : resolved.clone();
+    }
+
+    private AnnotatedType unshared(AnnotatedType resolved) {
+        return captured ? GenericTypeReflector.copyCaptures(resolved) : resolved;
+    }
+
+    /**
+     * Finds the exact supertypes of the captured type for all the given classes. Mapping the type parameters on the way
+     * to a supertype may change the annotations of the captures, so with captures, each supertype is found from its own copy.
+     */
+    private AnnotatedType[] declaringTypes(AnnotatedType capture, Class<?>[] declaringClasses) {
+        if (!captured) {
+            return GenericTypeReflector.getExactSuperTypes(capture, declaringClasses);
+        }
+        AnnotatedType[] declaringTypes = new AnnotatedType[declaringClasses.length];
+        for (int i = 0; i < declaringClasses.length; i++) {
+            declaringTypes[i] = GenericTypeReflector.getExactSuperTypes(GenericTypeReflector.copyCaptures(capture), declaringClasses[i])[0];
+        }
+        return declaringTypes;
+    }
+
+    /**
+     * Returns the variable bindings to resolve a single member with. The captures of the declaring type
+     * are copied for each member, so the members can not change the annotations of one another.
+     */
+    private VarMap varMap(AnnotatedType declaringType, VarMap shared) {
+        return captured ? GenericTypeReflector.varMapOf(GenericTypeReflector.copyCaptures(declaringType)) : shared;
+    }
+
+    private <T> T member(T resolved, Object member) {
+        if (resolved == null) {
+            throw new IllegalArgumentException(member + " is not a member of type " + type);
+        }
+        return resolved;
+    }
+
+    private static AnnotatedType map(AnnotatedType toMap, VarMap varMap) {
+        return GenericTypeReflector.mapTypeParameters(toMap, varMap, VarMap.MappingMode.ALLOW_INCOMPLETE);
+    }
+
+    private static AnnotatedType[] map(AnnotatedType[] toMap, VarMap varMap) {
+        AnnotatedType[] result = new AnnotatedType[toMap.length];
+        for (int i = 0; i < toMap.length; i++) {
+            result[i] = map(toMap[i], varMap);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the given class followed by all of its superclasses and interfaces, each listed once.
+     */
+    private static Class<?>[] declaringClasses(Class<?> clazz) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(clazz);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (classes.add(current)) {
+                if (current.getSuperclass() != null) {
+                    pending.add(current.getSuperclass());
+                }
+                Collections.addAll(pending, current.getInterfaces());
+            }
+        }
+        return classes.toArray(new Class<?>[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedTypeView(" + type + ")";
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A supertype compiled for checking many candidate types against it, with the same results as
+ * {@link GenericTypeReflector#isSuperType(Type, Type)}.
+ * <p>Everything depending on the supertype alone is worked out once: its erasure, how each of its type arguments
+ * has to contain the respective argument of a candidate (by equality, or by the bounds of a wildcard, which are
+ * compiled in turn) and the matcher for its owner or array component type. Checking a candidate then only
+ * finds the candidate's supertype with the matching erasure and applies these checks, rejecting classes
+ * of the wrong erasure up front.</p>
+ * <p>Matchers are immutable and safe to share between threads.</p>
+ *
+ * @see GenericTypeReflector#compileSuperTypeMatcher(Type)
+ */
+public final class SuperTypeMatcher {
+
+    private final Type superType;
+    private final Class<?> superClass;
+    private final List<Predicate<Type>> argumentMatchers;
+    private final SuperTypeMatcher ownerMatcher;
+    private final SuperTypeMatcher componentMatcher;
+
+    SuperTypeMatcher(Type superType) {
+        if (!isCompilable(superType)) {
+            throw new IllegalArgumentException("Only classes, parameterized and array types can be compiled, not " + superType.getTypeName());
+        }
+        this.superType = superType;
+        this.superClass = GenericTypeReflector.erase(superType);
+        if (superType instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) superType;
+            this.argumentMatchers = new ArrayList<>();
+            for (Type argument : ParameterizedTypeImpl.argumentsOf(parameterized)) {
+                argumentMatchers.add(argumentMatcher(argument));
+            }
+            this.ownerMatcher = parameterized.getOwnerType() == null ? null : new SuperTypeMatcher(parameterized.getOwnerType());
+        } else {
+            this.argumentMatchers = null;
+            this.ownerMatcher = null;
+        }
+        this.componentMatcher = superType instanceof GenericArrayType
+                ? new SuperTypeMatcher(((GenericArrayType) superType).getGenericComponentType())
+                : null;
+    }
+
+    /**
+     * Returns the supertype this matcher was compiled from.
+     */
+    public Type getSuperType() {
+        return superType;
+    }
+
+    /**
+     * Checks if the capture of {@code subType} is a subtype of the compiled supertype.
+     *
+     * @param subType The candidate type
+     * @return The same as {@code GenericTypeReflector.isSuperType(getSuperType(), subType)}
+     */
+    public boolean matches(Type subType) {
+        if (subType instanceof Class && !superClass.isAssignableFrom((Class<?>) subType)) {
+            return false; // no supertype with the right erasure, no need to look for it
+        }
+        Type mappedSubType = TypeResolver.getExactSuperType(TypeResolver.capture(subType), superClass);
+        if (mappedSubType == null) {
+            return false;
+        } else if (superType instanceof Class || mappedSubType instanceof Class) {
+            return true; // class has no parameters, or it's a raw type
+        } else if (mappedSubType instanceof GenericArrayType) {
+            return componentMatcher.matches(((GenericArrayType) mappedSubType).getGenericComponentType());
+        }
+        ParameterizedType pMappedSubType = (ParameterizedType) mappedSubType;
+        Type[] subTypeArgs = ParameterizedTypeImpl.argumentsOf(pMappedSubType);
+        for (int i = 0; i < subTypeArgs.length; i++) {
+            if (!argumentMatchers.get(i).test(subTypeArgs[i])) {
+                return false;
+            }
+        }
+        // params of the class itself match, so if the owner types are supertypes too, it's a supertype.
+        return ownerMatcher == null || ownerMatcher.matches(pMappedSubType.getOwnerType());
+    }
+
+    /**
+     * Compiles the check whether a type argument of the supertype contains the respective argument of a candidate.
+     */
+    private static Predicate<Type> argumentMatcher(Type argument) {
+        if (!(argument instanceof WildcardType)) {
+            return argument::equals;
+        }
+        WildcardType wildcard = (WildcardType) argument;
+        List<Predicate<Type>> bounds = new ArrayList<>();
+        for (Type upperBound : wildcard.getUpperBounds()) {
+            bounds.add(isCompilable(upperBound)
+                    ? new SuperTypeMatcher(upperBound)::matches
+                    : contained -> GenericTypeReflector.isSuperType(upperBound, contained));
+        }
+        for (Type lowerBound : wildcard.getLowerBounds()) {
+            bounds.add(contained -> GenericTypeReflector.isSuperType(contained, lowerBound));
+        }
+        if (bounds.size() == 1) {
+            return bounds.get(0);
+        }
+        return contained -> {
+            for (Predicate<Type> bound : bounds) {
+                if (!bound.test(contained)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static boolean isCompilable(Type type) {
+        return type instanceof ParameterizedType || type instanceof Class || type instanceof GenericArrayType;
+    }
+
+    @Override
+    public String toString() {
+        return "SuperTypeMatcher(" + superType.getTypeName() + ")";
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of values registered against types, dispatching any type to the value registered against its most
+ * specific supertype. Meant for registries of codecs, converters and the like, where a handler registered for
+ * e.g. {@code Collection<? extends Number>} applies to {@code ArrayList<Integer>} unless a more specific one exists.
+ * <p>A registered type applies to a type if it is a supertype of it, as decided by {@link GenericTypeReflector#isSuperType(Type, Type)}.
+ * Of all the applicable registered types, the one found first is returned, searching the classes in the
+ * linearized hierarchy of the type in order (every class before its own supertypes, superclasses before interfaces),
+ * and for each class, its registered parameterizations from the most specific one. So no registered type more
+ * specific than the returned one applies, and ties between unrelated types go to the one closer in the hierarchy.</p>
+ * <p>Each registered type is compiled into a {@link SuperTypeMatcher} once, and the answers are memoized per looked up type
+ * until the next registration. The index is safe for concurrent use: registrations are serialized, and lookups
+ * always see a consistent set of registrations.</p>
+ *
+ * @param <V> The type of the registered values
+ */
+public class TypeDispatchIndex<V> {
+
+    private static final int DEFAULT_MAXIMUM_CACHED_LOOKUPS = 1024;
+
+    private final int maximumCachedLookups;
+    private volatile Registrations<V> registrations;
+
+    /**
+     * Creates an empty index, memoizing the answers for up to 1024 looked up types.
+     */
+    public TypeDispatchIndex() {
+        this(DEFAULT_MAXIMUM_CACHED_LOOKUPS);
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param maximumCachedLookups The maximum number of looked up types to memoize the answers for
+     */
+    public TypeDispatchIndex(int maximumCachedLookups) {
+        this.maximumCachedLookups = maximumCachedLookups;
+        this.registrations = new Registrations<>(Collections.emptyMap(), 0, maximumCachedLookups);
+    }
+
+    /**
+     * Registers a value against the given type, replacing any value registered against an equal type.
+     *
+     * @param type The class, parameterized type or array type the value applies to, together with all of its subtypes
+     * @param value The value to register
+     * @return The value previously registered against {@code type}, or {@code null} if there was none
+     * @throws IllegalArgumentException If {@code type} is not a class, a parameterized type or an array type
+     */
+    public synchronized V put(Type type, V value) {
+        Class<?> erasure = GenericTypeReflector.erase(type);
+        List<Registration<V>> sameErasure = registrations.byErasure.getOrDefault(erasure, Collections.emptyList());
+        List<Registration<V>> updated = new ArrayList<>(sameErasure.size() + 1);
+        Registration<V> registration = new Registration<>(GenericTypeReflector.compileSuperTypeMatcher(type), value);
+        V previous = null;
+        int size = registrations.size + 1;
+        for (Registration<V> existing : sameErasure) {
+            if (existing.getKey().equals(type)) {
+                previous = existing.getValue();
+                size--;
+            } else {
+                updated.add(existing);
+            }
+        }
+        // before the first registered type it is more specific than, so it is matched first
+        int index = 0;
+        while (index < updated.size() && !isProperSuperType(updated.get(index).getKey(), type)) {
+            index++;
+        }
+        updated.add(index, registration);
+        update(erasure, updated, size);
+        return previous;
+    }
+
+    /**
+     * Removes the value registered against the given type.
+     *
+     * @param type The type to remove the registration of
+     * @return The removed value, or {@code null} if none was registered against {@code type}
+     */
+    public synchronized V remove(Type type) {
+        Class<?> erasure = GenericTypeReflector.erase(type);
+        List<Registration<V>> sameErasure = registrations.byErasure.getOrDefault(erasure, Collections.emptyList());
+        for (int i = 0; i < sameErasure.size(); i++) {
+            if (sameErasure.get(i).getKey().equals(type)) {
+                List<Registration<V>> updated = new ArrayList<>(sameErasure);
+                V removed = updated.remove(i).getValue();
+                update(erasure, updated, registrations.size - 1);
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value registered against a type equal to the given one, without considering its supertypes.
+     *
+     * @param type The registered type
+     * @return The value registered against {@code type}, or {@code null} if there is none
+     */
+    public V get(Type type) {
+        for (Registration<V> registration : registrations.byErasure.getOrDefault(GenericTypeReflector.erase(type), Collections.emptyList())) {
+            if (registration.getKey().equals(type)) {
+                return registration.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the value registered against the most specific supertype of the given type.
+     *
+     * @param type The type to find the value for
+     * @return The value of the most specific applicable registration, or {@code null} if none applies
+     */
+    public V find(Type type) {
+        Map.Entry<Type, V> entry = findEntry(type);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Finds the most specific registered supertype of the given type, together with its value.
+     *
+     * @param type The type to find the registration for
+     * @return The most specific applicable registered type and its value, or {@code null} if none applies
+     */
+    public Map.Entry<Type, V> findEntry(Type type) {
+        Registrations<V> current = registrations;
+        return current.lookups.get(type, current::lookup);
+    }
+
+    /**
+     * Returns the number of registrations.
+     */
+    public int size() {
+        return registrations.size;
+    }
+
+    /**
+     * Returns the usage statistics of the memoized answers since the last registration.
+     */
+    public CacheStats getCacheStats() {
+        return registrations.lookups.stats();
+    }
+
+    private void update(Class<?> erasure, List<Registration<V>> sameErasure, int size) {
+        Map<Class<?>, List<Registration<V>>> byErasure = new HashMap<>(registrations.byErasure);
+        if (sameErasure.isEmpty()) {
+            byErasure.remove(erasure);
+        } else {
+            byErasure.put(erasure, Collections.unmodifiableList(sameErasure));
+        }
+        registrations = new Registrations<>(byErasure, size, maximumCachedLookups);
+    }
+
+    private static boolean isProperSuperType(Type superType, Type subType) {
+        return GenericTypeReflector.isSuperType(superType, subType) && !GenericTypeReflector.isSuperType(subType, superType);
+    }
+
+    /**
+     * An immutable snapshot of the registrations, with the answers memoized for it.
+     */
+    private static final class Registrations<V> {
+
+        private final Map<Class<?>, List<Registration<V>>> byErasure;
+        private final int size;
+        private final BoundedCache<Type, Map.Entry<Type, V>> lookups;
+
+        Registrations(Map<Class<?>, List<Registration<V>>> byErasure, int size, int maximumCachedLookups) {
+            this.byErasure = byErasure;
+            this.size = size;
+            this.lookups = new BoundedCache<>(maximumCachedLookups);
+        }
+
+        Map.Entry<Type, V> lookup(Type type) {
+            if (byErasure.isEmpty()) {
+                return null;
+            }
+            for (Class<?> candidate : ClassMetadata.of(GenericTypeReflector.erase(type)).getLinearization()) {
+                List<Registration<V>> registered = byErasure.get(candidate);
+                if (registered != null) {
+                    for (Registration<V> registration : registered) {
+                        if (registration.matcher.matches(type)) {
+                            return registration;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Registration<V> extends AbstractMap.SimpleImmutableEntry<Type, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SuperTypeMatcher matcher;
+
+        Registration(SuperTypeMatcher matcher, V value) {
+            super(matcher.getSuperType(), value);
+            this.matcher = matcher;
+        }
+    }
+}
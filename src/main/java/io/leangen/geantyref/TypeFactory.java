@@ -29,6 +29,41 @@ import java.util.Map;
 public class TypeFactory {
     private static final WildcardType UNBOUND_WILDCARD = new WildcardTypeImpl(new Type[]{Object.class}, new Type[]{});
 
+    private static volatile TypeInterner interner;
+
+    /**
+     * Enables interning of the parameterized, wildcard and generic array types created by this class
+     * and by {@link GenericTypeReflector}: structurally equal types are then represented by a single shared
+     * instance, so equality checks between them are mostly reference comparisons and duplicate type trees
+     * are not retained. Interned types are only weakly referenced and do not prevent class unloading.
+     * Has no effect if interning is already enabled.
+     */
+    public static void enableInterning() {
+        if (interner == null) {
+            synchronized (TypeFactory.class) {
+                if (interner == null) {
+                    interner = new TypeInterner();
+                }
+            }
+        }
+    }
+
+    /**
+     * Disables interning enabled by {@link #enableInterning()} and releases all interned types.
+     * Types interned before remain valid, but newly created types are no longer shared.
+     */
+    public static void disableInterning() {
+        interner = null;
+    }
+
+    /**
+     * Returns the shared instance structurally equal to the given type, if interning is enabled.
+     */
+    static <T extends Type> T intern(T type) {
+        TypeInterner pool = interner;
+        return pool == null ? type : pool.intern(type);
+    }
+
     /**
      * Creates a type of class {@code clazz} with {@code arguments} as type arguments.
      * <p>
@@ -75,10 +110,11 @@ public class TypeFactory {
         if (argumentAnnotations == null || argumentAnnotations.length == 0) {
             return (AnnotatedParameterizedType) GenericTypeReflector.annotate(type, typeAnnotations);
         }
-        AnnotatedType[] typeArguments = new AnnotatedType[type.getActualTypeArguments().length];
+        Type[] arguments = ParameterizedTypeImpl.argumentsOf(type);
+        AnnotatedType[] typeArguments = new AnnotatedType[arguments.length];
         for (int i = 0; i < typeArguments.length; i++) {
             Annotation[] annotations = argumentAnnotations.length > i ? argumentAnnotations[i] : null;
-            typeArguments[i] = GenericTypeReflector.annotate(type.getActualTypeArguments()[i], annotations);
+            typeArguments[i] = GenericTypeReflector.annotate(arguments[i], annotations);
         }
         return (AnnotatedParameterizedType) parameterizedAnnotatedClass(GenericTypeReflector.erase(type), typeAnnotations, typeArguments);
     }
@@ -130,15 +166,29 @@ public class TypeFactory {
      *                                  {@code arguments} is null.
      */
     public static Type parameterizedInnerClass(Type owner, Class<?> clazz, Type... arguments) {
+        return parameterizedInnerClass(owner, clazz, arguments, true);
+    }
+
+    /**
+     * The same as {@link #parameterizedInnerClass(Type, Class, Type...)}, but trusts the {@code arguments}
+     * to be within the bounds declared on the type parameters. Meant for rebuilding types whose arguments
+     * are derived from an already valid type, where proving the bounds again would only waste time.
+     */
+    static Type trustedParameterizedInnerClass(Type owner, Class<?> clazz, Type... arguments) {
+        return parameterizedInnerClass(owner, clazz, arguments, false);
+    }
+
+    private static Type parameterizedInnerClass(Type owner, Class<?> clazz, Type[] arguments, boolean checkBounds) {
         // never allow an owner on a class that doesn't have one
         if (clazz.getDeclaringClass() == null && owner != null) {
             throw new IllegalArgumentException("Cannot specify an owner type for a top level class");
         }
 
         Type realOwner = transformOwner(owner, clazz);
+        int parameterCount = ClassMetadata.of(clazz).getTypeParameters().length;
 
         if (arguments == null) {
-            if (clazz.getTypeParameters().length == 0) {
+            if (parameterCount == 0) {
                 // no arguments known, but no needed so just use an empty argument list.
                 // (we can still end up with a generic type if the owner is generic)
                 arguments = new Type[0];
@@ -147,9 +197,9 @@ public class TypeFactory {
                 return clazz;
             }
         } else {
-            if (arguments.length != clazz.getTypeParameters().length) {
+            if (arguments.length != parameterCount) {
                 throw new IllegalArgumentException("Incorrect number of type arguments for [" + clazz + "]: " +
-                        "expected " + clazz.getTypeParameters().length + ", but got " + arguments.length);
+                        "expected " + parameterCount + ", but got " + arguments.length);
             }
         }
 
@@ -164,8 +214,10 @@ public class TypeFactory {
             return clazz;
         }
 
-        ParameterizedType result = new ParameterizedTypeImpl(clazz, arguments, realOwner);
-        checkParametersWithinBound(result);
+        ParameterizedType result = intern(new ParameterizedTypeImpl(clazz, arguments, realOwner));
+        if (checkBounds) {
+            checkParametersWithinBound(result);
+        }
         return result;
     }
 
@@ -181,8 +233,8 @@ public class TypeFactory {
      * @throws IllegalArgumentException if the type arguments are not within the bounds
      */
     private static void checkParametersWithinBound(ParameterizedType type) {
-        Type[] arguments = type.getActualTypeArguments();
-        TypeVariable<?>[] typeParameters = ((Class<?>) type.getRawType()).getTypeParameters();
+        Type[] arguments = ParameterizedTypeImpl.argumentsOf(type);
+        TypeVariable<?>[] typeParameters = ClassMetadata.of((Class<?>) type.getRawType()).getTypeParameters();
 
         // a map of type arguments in the type, to fill in variables in the bounds
         VarMap varMap = new VarMap(type);
@@ -254,8 +306,11 @@ public class TypeFactory {
             // transform it into the declaring class with the exact type parameters.
             // For example with "class StringOuter extends GenericOuter<String>", transform
             // "StringOuter.Inner" into "GenericOuter<String>.Inner", just like the Java compiler does.
-            Type transformedOwner = GenericTypeReflector.getExactSuperType(GenericTypeReflector.annotate(givenOwner).getType(),
-                    clazz.getDeclaringClass());
+            boolean exactOwner = (givenOwner instanceof Class || givenOwner instanceof ParameterizedType)
+                    && GenericTypeReflector.erase(givenOwner) == clazz.getDeclaringClass();
+            Type transformedOwner = exactOwner
+                    ? givenOwner
+                    : GenericTypeReflector.getExactSuperType(givenOwner, clazz.getDeclaringClass());
 
             if (transformedOwner == null) { // null means it's not a supertype
                 throw new IllegalArgumentException("Given owner type [" + givenOwner + "] is not appropriate for ["
@@ -292,7 +347,7 @@ public class TypeFactory {
         if (upperBound == null) {
             throw new NullPointerException();
         }
-        return new WildcardTypeImpl(new Type[]{upperBound}, new Type[]{});
+        return intern(new WildcardTypeImpl(new Type[]{upperBound}, new Type[]{}));
     }
 
     /**
@@ -307,7 +362,7 @@ public class TypeFactory {
         if (lowerBound == null) {
             throw new NullPointerException();
         }
-        return new WildcardTypeImpl(new Type[]{Object.class}, new Type[]{lowerBound});
+        return intern(new WildcardTypeImpl(new Type[]{Object.class}, new Type[]{lowerBound}));
     }
 
     /**
@@ -0,0 +1,143 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of canonical instances of structurally equal types.
+ * Pooled types are only weakly reachable from the pool, so they (and the classes they refer to)
+ * can still be garbage collected once no longer used elsewhere. Lookups never lock.
+ * <p>Types containing {@link TypeVariableImpl}s or {@link CaptureType}s are never pooled: their equality
+ * does not take the bounds into account, so an equal pooled type could stand for different bounds.</p>
+ *
+ * @see TypeFactory#enableInterning()
+ */
+class TypeInterner {
+
+    private final ConcurrentHashMap<Object, PooledType> pool = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Type> collected = new ReferenceQueue<>();
+
+    @SuppressWarnings("unchecked")
+    <T extends Type> T intern(T type) {
+        if (!isInternable(type)) {
+            return type;
+        }
+        expungeCollected();
+        PooledType pooled = pool.get(new Lookup(type));
+        Type interned = pooled == null ? null : pooled.get();
+        if (interned != null) {
+            return interned.getClass() == type.getClass() ? (T) interned : type;
+        }
+        PooledType added = new PooledType(type, collected);
+        PooledType previous = pool.putIfAbsent(added, added);
+        interned = previous == null ? type : previous.get();
+        // lost a race to an instance that was collected since, or is of a different class
+        return interned != null && interned.getClass() == type.getClass() ? (T) interned : type;
+    }
+
+    int size() {
+        expungeCollected();
+        return pool.size();
+    }
+
+    private void expungeCollected() {
+        for (Reference<? extends Type> ref; (ref = collected.poll()) != null; ) {
+            pool.remove(ref, ref);
+        }
+    }
+
+    private static boolean isInternable(Type type) {
+        if (type instanceof TypeVariableImpl || type instanceof CaptureType) {
+            return false;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            return (parameterized.getOwnerType() == null || isInternable(parameterized.getOwnerType()))
+                    && areInternable(ParameterizedTypeImpl.argumentsOf(parameterized));
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            return areInternable(wildcard.getUpperBounds()) && areInternable(wildcard.getLowerBounds());
+        }
+        if (type instanceof GenericArrayType) {
+            return isInternable(((GenericArrayType) type).getGenericComponentType());
+        }
+        return true;
+    }
+
+    private static boolean areInternable(Type[] types) {
+        for (Type type : types) {
+            if (!isInternable(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A weak reference to a pooled type, equal to any {@link Lookup} of an equal type.
+     * Once cleared, it is only equal to itself, so it can still be removed from the pool.
+     */
+    private static final class PooledType extends WeakReference<Type> {
+
+        private final int hash;
+
+        PooledType(Type type, ReferenceQueue<Type> queue) {
+            super(type, queue);
+            this.hash = type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Type type = get();
+            if (type == null) {
+                return false;
+            }
+            if (other instanceof Lookup) {
+                return type.equals(((Lookup) other).type);
+            }
+            return other instanceof PooledType && type.equals(((PooledType) other).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Looks up a type in the pool without creating a reference to it.
+     */
+    private static final class Lookup {
+
+        private final Type type;
+
+        Lookup(Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PooledType && other.equals(this);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode();
+        }
+    }
+}
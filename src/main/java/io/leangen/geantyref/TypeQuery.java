@@ -0,0 +1,112 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.AnnotatedTypeVariable;
+import java.lang.reflect.AnnotatedWildcardType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A read-only counterpart of {@link TypeVisitor}: computes a result from the structure of a type without rebuilding it.
+ * By default, the results of all the types a type is composed of (type arguments, owner types, bounds and component types)
+ * are combined using {@link #combine(Object, Object)}, starting from {@link #defaultResult()}.
+ * Combining stops as soon as {@link #isDone(Object)} accepts the result so far.
+ * <p>Type variables and captures may appear in their own bounds, so while the bounds of one are being queried,
+ * any nested occurrence of the same variable or capture yields {@link #defaultResult()} instead of being descended into.</p>
+ * <p>Queries keep track of the variables and captures being descended into, so an instance must not be used concurrently.</p>
+ *
+ * @param <R> The type of the computed result
+ * @see GenericTypeReflector#query(AnnotatedType, TypeQuery)
+ */
+public abstract class TypeQuery<R> {
+
+    private final Set<Type> inProgress = new HashSet<>();
+
+    protected TypeQuery() {
+    }
+
+    /**
+     * Returns the result for a type not composed of any other types, and the initial value when combining results.
+     */
+    protected abstract R defaultResult();
+
+    /**
+     * Combines the result computed so far with the result of the next type.
+     */
+    protected abstract R combine(R result, R next);
+
+    /**
+     * Checks whether the given result is final, so no further types need to be queried.
+     */
+    protected boolean isDone(R result) {
+        return false;
+    }
+
+    protected R visitParameterizedType(AnnotatedParameterizedType type) {
+        R result = visitAll(defaultResult(), type.getAnnotatedActualTypeArguments());
+        AnnotatedType owner = type.getAnnotatedOwnerType();
+        return owner == null || isDone(result) ? result : combine(result, GenericTypeReflector.query(owner, this));
+    }
+
+    protected R visitWildcardType(AnnotatedWildcardType type) {
+        R result = visitAll(defaultResult(), type.getAnnotatedLowerBounds());
+        return visitAll(result, type.getAnnotatedUpperBounds());
+    }
+
+    protected R visitVariable(AnnotatedTypeVariable type) {
+        if (!inProgress.add(type.getType())) {
+            return defaultResult();
+        }
+        try {
+            return visitAll(defaultResult(), type.getAnnotatedBounds());
+        } finally {
+            inProgress.remove(type.getType());
+        }
+    }
+
+    protected R visitArray(AnnotatedArrayType type) {
+        return GenericTypeReflector.query(type.getAnnotatedGenericComponentType(), this);
+    }
+
+    protected R visitCaptureType(AnnotatedCaptureType type) {
+        if (!inProgress.add(type.getType())) {
+            return defaultResult();
+        }
+        try {
+            R result = defaultResult();
+            if (type.getAnnotatedLowerBounds() != null) {
+                result = visitAll(result, type.getAnnotatedLowerBounds());
+            }
+            return visitAll(result, type.getAnnotatedUpperBounds());
+        } finally {
+            inProgress.remove(type.getType());
+        }
+    }
+
+    protected R visitClass(AnnotatedType type) {
+        return defaultResult();
+    }
+
+    protected R visitUnmatched(AnnotatedType type) {
+        return defaultResult();
+    }
+
+    /**
+     * Queries all the given types in order, combining their results with {@code result}
+     * until {@link #isDone(Object)} accepts it.
+     */
+    protected final R visitAll(R result, AnnotatedType[] types) {
+        for (int i = 0; i < types.length && !isDone(result); i++) {
+            result = combine(result, GenericTypeReflector.query(types[i], this));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,628 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.io.Serializable;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
+
+/**
+ * The engine behind the {@link Type} overloads of {@link GenericTypeReflector}.
+ * It mirrors the {@link java.lang.reflect.AnnotatedType} based algorithms step by step, producing the same types,
+ * but works on plain types directly, so callers not interested in type-use annotations do not pay for
+ * wrapping every type into an {@link java.lang.reflect.AnnotatedType} and merging annotations along the way.
+ */
+final class TypeResolver {
+
+    private static final Type[] OBJECT = {Object.class};
+
+    private TypeResolver() {
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactSuperType(Type, Class)
+     */
+    static Type getExactSuperType(Type subType, Class<?> searchSuperClass) {
+        if (subType instanceof ParameterizedType || subType instanceof Class || subType instanceof GenericArrayType) {
+            Class<?> superClass = erase(subType);
+
+            if (searchSuperClass == superClass) {
+                return subType;
+            }
+
+            if (!searchSuperClass.isAssignableFrom(superClass)) {
+                return null;
+            }
+
+            if (!(subType instanceof GenericArrayType) && !isMissingTypeParameters(subType)) {
+                Map<Class<?>, Type> templates = ClassMetadata.of(superClass).getSuperTypeTemplates();
+                Type template = templates == null ? null : templates.get(searchSuperClass);
+                if (template != null) {
+                    return subType instanceof Class ? template : substitute(template, (ParameterizedType) subType);
+                }
+            }
+
+            if (!superClass.isArray()) {
+                return getExactSuperType(directSuperTypeTowards(subType, superClass, searchSuperClass), searchSuperClass);
+            }
+        }
+
+        for (Type superType : getExactDirectSuperTypes(subType)) {
+            Type result = getExactSuperType(superType, searchSuperClass);
+            if (result != null)
+                return result;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the first direct supertype of {@code type} that is a subtype of {@code searchSuperClass},
+     * choosing the branch by erasure so that supertypes leading elsewhere are never mapped.
+     */
+    private static Type directSuperTypeTowards(Type type, Class<?> clazz, Class<?> searchSuperClass) {
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        Type superClass = metadata.getGenericSuperclass();
+        if (superClass != null && searchSuperClass.isAssignableFrom(erase(superClass))) {
+            return mapTypeParameters(superClass, type, VarMap.MappingMode.EXACT);
+        }
+        for (Type superInterface : metadata.getGenericInterfaces()) {
+            if (searchSuperClass.isAssignableFrom(erase(superInterface))) {
+                return mapTypeParameters(superInterface, type, VarMap.MappingMode.EXACT);
+            }
+        }
+        // the only supertype of an interface without superinterfaces is Object
+        return Object.class;
+    }
+
+    /**
+     * Replaces the type parameters of the class (and its generic owners) in the given template
+     * with the arguments of {@code typeAndParams}.
+     */
+    private static Type substitute(Type template, ParameterizedType typeAndParams) {
+        return varMapOf(typeAndParams).map(template, VarMap.MappingMode.EXACT);
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactSuperTypes(Type, Class[])
+     */
+    static Type[] getExactSuperTypes(Type subType, Class<?>[] searchSuperClasses) {
+        Type[] result = new Type[searchSuperClasses.length];
+        collectExactSuperTypes(subType, searchSuperClasses, result, searchSuperClasses.length);
+        return result;
+    }
+
+    /**
+     * Searches the supertypes of {@code type} for all classes in {@code searchSuperClasses} not found yet,
+     * mapping every traversed supertype once for all of them. Each class is found exactly where
+     * {@link #getExactSuperType(Type, Class)} would find it.
+     *
+     * @return The number of classes still not found
+     */
+    private static int collectExactSuperTypes(Type type, Class<?>[] searchSuperClasses, Type[] result, int missing) {
+        if (type instanceof ParameterizedType || type instanceof Class || type instanceof GenericArrayType) {
+            Class<?> superClass = erase(type);
+            Map<Class<?>, Type> templates = type instanceof GenericArrayType || isMissingTypeParameters(type)
+                    ? null : ClassMetadata.of(superClass).getSuperTypeTemplates();
+            TypeVarMap varMap = null;
+            boolean descend = false;
+            for (int i = 0; i < searchSuperClasses.length; i++) {
+                if (result[i] != null || !searchSuperClasses[i].isAssignableFrom(superClass)) {
+                    continue;
+                }
+                Type template = templates == null ? null : templates.get(searchSuperClasses[i]);
+                if (searchSuperClasses[i] == superClass) {
+                    result[i] = type;
+                    missing--;
+                } else if (template != null) {
+                    if (type instanceof ParameterizedType) {
+                        if (varMap == null) {
+                            varMap = varMapOf(type);
+                        }
+                        template = varMap.map(template, VarMap.MappingMode.EXACT);
+                    }
+                    result[i] = template;
+                    missing--;
+                } else {
+                    descend = true;
+                }
+            }
+            if (!descend) {
+                return missing;
+            }
+            if (!superClass.isArray()) {
+                ClassMetadata metadata = ClassMetadata.of(superClass);
+                Type declaredSuperClass = metadata.getGenericSuperclass();
+                Type[] declaredInterfaces = metadata.getGenericInterfaces();
+                if (declaredSuperClass == null && declaredInterfaces.length == 0 && superClass.isInterface()) {
+                    // the only supertype of an interface without superinterfaces is Object
+                    return collectExactSuperTypes(Object.class, searchSuperClasses, result, missing);
+                }
+                if (declaredSuperClass != null && isAnyMissingAssignableFrom(erase(declaredSuperClass), searchSuperClasses, result)) {
+                    missing = collectExactSuperTypes(mapTypeParameters(declaredSuperClass, type, VarMap.MappingMode.EXACT), searchSuperClasses, result, missing);
+                }
+                for (int i = 0; i < declaredInterfaces.length && missing > 0; i++) {
+                    if (isAnyMissingAssignableFrom(erase(declaredInterfaces[i]), searchSuperClasses, result)) {
+                        missing = collectExactSuperTypes(mapTypeParameters(declaredInterfaces[i], type, VarMap.MappingMode.EXACT), searchSuperClasses, result, missing);
+                    }
+                }
+                return missing;
+            }
+        }
+
+        for (Type superType : getExactDirectSuperTypes(type)) {
+            if (missing == 0) {
+                break;
+            }
+            missing = collectExactSuperTypes(superType, searchSuperClasses, result, missing);
+        }
+        return missing;
+    }
+
+    private static boolean isAnyMissingAssignableFrom(Class<?> clazz, Class<?>[] searchSuperClasses, Type[] result) {
+        for (int i = 0; i < searchSuperClasses.length; i++) {
+            if (result[i] == null && searchSuperClasses[i].isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes every supertype of the given class, with its type arguments expressed in terms of the type parameters
+     * of the class (and of its generic owners). Each supertype is recorded as first found by a depth-first search
+     * through the direct supertypes, so the templates are exactly what {@link #getExactSuperType(Type, Class)}
+     * would find starting from the class parameterized with its own type parameters.
+     *
+     * @return The supertype templates keyed by their erasure, or {@code null} if the class uses type variables
+     * it does not declare itself, in which case the supertypes have to be searched for every time
+     */
+    static Map<Class<?>, Type> superTypeTemplates(Class<?> clazz) {
+        Type self = selfType(clazz);
+        if (isMissingTypeParameters(self)) {
+            return null;
+        }
+        Map<Class<?>, Type> templates = new HashMap<>();
+        try {
+            collectSuperTypeTemplates(self, templates);
+        } catch (UnresolvedTypeVariableException e) {
+            return null;
+        }
+        return templates;
+    }
+
+    private static void collectSuperTypeTemplates(Type type, Map<Class<?>, Type> templates) {
+        for (Type superType : getExactDirectSuperTypes(type)) {
+            // a supertype seen before had its own supertypes collected already
+            if (templates.putIfAbsent(erase(superType), superType) == null) {
+                collectSuperTypeTemplates(superType, templates);
+            }
+        }
+    }
+
+    /**
+     * Returns the given class parameterized with its own type parameters, owned by its declaring class
+     * parameterized the same way.
+     */
+    private static Type selfType(Class<?> clazz) {
+        Class<?> declaringClass = clazz.getDeclaringClass();
+        Type owner = declaringClass == null || Modifier.isStatic(clazz.getModifiers()) ? declaringClass : selfType(declaringClass);
+        TypeVariable<?>[] typeParameters = ClassMetadata.of(clazz).getTypeParameters();
+        if (typeParameters.length == 0 && !(owner instanceof ParameterizedType)) {
+            return clazz;
+        }
+        return TypeFactory.intern(new ParameterizedTypeImpl(clazz, typeParameters.clone(), owner));
+    }
+
+    /**
+     * Returns the direct supertypes of the given type. Resolves type parameters.
+     */
+    static Type[] getExactDirectSuperTypes(Type type) {
+        if (type instanceof ParameterizedType || type instanceof Class) {
+            Class<?> clazz;
+            if (type instanceof ParameterizedType) {
+                clazz = (Class<?>) ((ParameterizedType) type).getRawType();
+            } else {
+                clazz = (Class<?>) type;
+                if (clazz.isArray()) {
+                    return getArrayExactDirectSuperTypes(clazz);
+                }
+            }
+
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            Type[] superInterfaces = metadata.getGenericInterfaces();
+            Type superClass = metadata.getGenericSuperclass();
+
+            // the only supertype of an interface without superinterfaces is Object
+            if (superClass == null && superInterfaces.length == 0 && clazz.isInterface()) {
+                return OBJECT.clone();
+            }
+
+            Type[] result;
+            int resultIndex;
+            if (superClass == null) {
+                result = new Type[superInterfaces.length];
+                resultIndex = 0;
+            } else {
+                result = new Type[superInterfaces.length + 1];
+                resultIndex = 1;
+                result[0] = mapTypeParameters(superClass, type, VarMap.MappingMode.EXACT);
+            }
+            for (Type superInterface : superInterfaces) {
+                result[resultIndex++] = mapTypeParameters(superInterface, type, VarMap.MappingMode.EXACT);
+            }
+
+            return result;
+        } else if (type instanceof TypeVariable) {
+            return ((TypeVariable<?>) type).getBounds();
+        } else if (type instanceof WildcardType) {
+            // This should be a rare case: normally this wildcard is already captured.
+            // But it does happen if the upper bound of a type variable contains a wildcard
+            return ((WildcardType) type).getUpperBounds();
+        } else if (type instanceof CaptureType) {
+            return ((CaptureType) type).getUpperBounds();
+        } else if (type instanceof GenericArrayType) {
+            return getArrayExactDirectSuperTypes(type);
+        } else if (type == null) {
+            throw new NullPointerException();
+        } else {
+            throw new RuntimeException("not implemented type: " + type);
+        }
+    }
+
+    private static Type[] getArrayExactDirectSuperTypes(Type arrayType) {
+        // see http://java.sun.com/docs/books/jls/third_edition/html/typesValues.html#4.10.3
+        Type typeComponent = getArrayComponentType(arrayType);
+
+        Type[] result;
+        int resultIndex;
+        if (typeComponent instanceof Class && ((Class<?>) typeComponent).isPrimitive()) {
+            resultIndex = 0;
+            result = new Type[3];
+        } else {
+            Type[] componentSupertypes = getExactDirectSuperTypes(typeComponent);
+            result = new Type[componentSupertypes.length + 3];
+            for (resultIndex = 0; resultIndex < componentSupertypes.length; resultIndex++) {
+                result[resultIndex] = GenericArrayTypeImpl.createArrayType(componentSupertypes[resultIndex]);
+            }
+        }
+        result[resultIndex++] = Object.class;
+        result[resultIndex++] = Cloneable.class;
+        result[resultIndex++] = Serializable.class;
+        return result;
+    }
+
+    /**
+     * @see GenericTypeReflector#getArrayComponentType(Type)
+     */
+    static Type getArrayComponentType(Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>) type).getComponentType();
+        } else if (type instanceof GenericArrayType) {
+            return ((GenericArrayType) type).getGenericComponentType();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Maps type parameters in a type to their values.
+     * @param toMapType Type possibly containing type arguments
+     * @param typeAndParams must be either ParameterizedType, or (in case there are no type arguments, or it's a raw type) Class
+     * @return toMapType, but with type parameters from typeAndParams replaced.
+     */
+    private static Type mapTypeParameters(Type toMapType, Type typeAndParams, VarMap.MappingMode mappingMode) {
+        if (isMissingTypeParameters(typeAndParams)) {
+            return erase(toMapType);
+        }
+        return varMapOf(typeAndParams).map(toMapType, mappingMode);
+    }
+
+    /**
+     * Binds the type parameters of the class of {@code typeAndParams}, and those of its generic owners, to their values.
+     */
+    private static TypeVarMap varMapOf(Type typeAndParams) {
+        TypeVarMap varMap = new TypeVarMap();
+        Type handlingTypeAndParams = typeAndParams;
+        while (handlingTypeAndParams instanceof ParameterizedType) {
+            ParameterizedType pType = (ParameterizedType) handlingTypeAndParams;
+            Class<?> clazz = (Class<?>) pType.getRawType(); // getRawType should always be Class
+            varMap.addAll(ClassMetadata.of(clazz).getTypeParameters(), ParameterizedTypeImpl.argumentsOf(pType));
+            handlingTypeAndParams = pType.getOwnerType();
+        }
+        return varMap;
+    }
+
+    /**
+     * @see GenericTypeReflector#capture(java.lang.reflect.AnnotatedType)
+     */
+    static Type capture(Type type) {
+        if (!GenericTypeReflector.hasWildcardArguments(type)) { // also true for anything but a parameterized type
+            return type;
+        }
+        BoundedCache<Object, Object> cache = GenericTypeReflector.captureCache();
+        if (cache == null) {
+            return captureFresh((ParameterizedType) type);
+        }
+        return (Type) cache.get(type, key -> captureFresh((ParameterizedType) key));
+    }
+
+    private static Type captureFresh(ParameterizedType pType) {
+        TypeVarMap varMap = new TypeVarMap();
+        // list of CaptureTypes we've created but aren't fully initialized, yet
+        // we can only initialize them *after* we've fully populated varMap
+        List<CaptureTypeImpl> toInit = new ArrayList<>();
+
+        Class<?> clazz = (Class<?>) pType.getRawType();
+        Type[] arguments = ParameterizedTypeImpl.argumentsOf(pType);
+        TypeVariable<?>[] vars = ClassMetadata.of(clazz).getTypeParameters();
+        Type[] capturedArguments = new Type[arguments.length];
+
+        assert arguments.length == vars.length;
+
+        for (int i = 0; i < arguments.length; i++) {
+            Type argument = arguments[i];
+            if (argument instanceof WildcardType) {
+                CaptureTypeImpl captured = new CaptureTypeImpl((WildcardType) argument, vars[i]);
+                argument = captured;
+                toInit.add(captured);
+            }
+            capturedArguments[i] = argument;
+            varMap.add(vars[i], argument);
+        }
+        for (CaptureTypeImpl captured : toInit) {
+            captured.init(varMap);
+        }
+        Type ownerType = capture(pType.getOwnerType());
+        return TypeFactory.intern(new ParameterizedTypeImpl(clazz, capturedArguments, ownerType));
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactSubType(Type, Class)
+     */
+    static Type getExactSubType(Type superType, Class<?> searchSubClass) {
+        Type subType = searchSubClass;
+        TypeVariable<?>[] subClassParameters = ClassMetadata.of(searchSubClass).getTypeParameters();
+        if (subClassParameters.length > 0) {
+            subType = TypeFactory.parameterizedClass(searchSubClass, subClassParameters.clone());
+        }
+        Class<?> rawSuperType = erase(superType);
+        if (searchSubClass.isArray() && isArray(superType)) {
+            if (rawSuperType.isAssignableFrom(searchSubClass)) {
+                return GenericArrayTypeImpl.createArrayType(
+                        getExactSubType(getArrayComponentType(superType), searchSubClass.getComponentType()));
+            } else {
+                return null;
+            }
+        }
+        if (subClassParameters.length == 0) {
+            return subType;
+        }
+        if (!(superType instanceof ParameterizedType)) {
+            return searchSubClass;
+        }
+        ParameterizedType matched = (ParameterizedType) getExactSuperType(subType, rawSuperType);
+        if (matched == null) return null;
+        TypeVarMap varMap = new TypeVarMap();
+        if (!extractVariables((ParameterizedType) superType, matched, searchSubClass, varMap)) {
+            return null; //Type shape did not match
+        }
+        if (!varMap.bindsAll(subClassParameters)) {
+            return searchSubClass;
+        }
+        return varMap.map(subType, VarMap.MappingMode.EXACT);
+    }
+
+    private static boolean isArray(Type type) {
+        return type instanceof GenericArrayType || (type instanceof Class && ((Class<?>) type).isArray());
+    }
+
+    /**
+     * @return {@code false} if the types do not match in shape
+     */
+    private static boolean extractVariables(ParameterizedType resolvedTyped, ParameterizedType unresolvedType, Class<?> declaringClass, TypeVarMap variables) {
+        Type[] resolvedParams = ParameterizedTypeImpl.argumentsOf(resolvedTyped);
+        Type[] unresolvedParams = ParameterizedTypeImpl.argumentsOf(unresolvedType);
+        for (int i = 0; i < resolvedParams.length; i++) {
+            final Type unresolvedParam = unresolvedParams[i];
+            final Type resolvedParam = resolvedParams[i];
+            if (unresolvedParam instanceof TypeVariable && ((TypeVariable<?>) unresolvedParam).getGenericDeclaration() == declaringClass) {
+                variables.add((TypeVariable<?>) unresolvedParam, resolvedParam);
+            } else if (unresolvedParam instanceof ParameterizedType) {
+                if (!(resolvedParam instanceof ParameterizedType) || !erase(unresolvedParam).equals(erase(resolvedParam))
+                        || !extractVariables((ParameterizedType) resolvedParam, (ParameterizedType) unresolvedParam, declaringClass, variables)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @see GenericTypeReflector#getTypeParameter(Type, TypeVariable)
+     */
+    static Type getTypeParameter(Type type, TypeVariable<? extends Class<?>> variable) {
+        return getTypeParameter(type, variable.getGenericDeclaration(), variable);
+    }
+
+    private static Type getTypeParameter(Type type, Class<?> clazz, TypeVariable<?> variable) {
+        Type superType = getExactSuperType(type, clazz);
+        if (superType instanceof ParameterizedType) {
+            int index = ClassMetadata.of(clazz).indexOf(variable);
+            return ParameterizedTypeImpl.argumentsOf((ParameterizedType) superType)[index];
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @see GenericTypeReflector#resolveType(Type, Type)
+     * @see GenericTypeReflector#resolveExactType(Type, Type)
+     */
+    static Type resolveType(Type unresolved, Type typeAndParams, VarMap.MappingMode mappingMode) {
+        return resolve(unresolved, expandGenerics(typeAndParams), mappingMode);
+    }
+
+    private static Type resolve(Type unresolved, Type typeAndParams, VarMap.MappingMode mappingMode) {
+        if (unresolved instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) unresolved;
+            Type[] arguments = ParameterizedTypeImpl.argumentsOf(parameterizedType);
+            Type[] params = new Type[arguments.length];
+            boolean unchanged = true;
+            for (int i = 0; i < arguments.length; i++) {
+                params[i] = resolve(arguments[i], typeAndParams, mappingMode);
+                unchanged &= params[i] == arguments[i];
+            }
+            Type original = parameterizedType.getOwnerType();
+            Type owner = original == null ? null : resolve(original, ownerOf(typeAndParams), mappingMode);
+            // only the arguments of the given type are known to be within bounds, resolved ones are checked
+            return unchanged && owner == original
+                    ? TypeFactory.trustedParameterizedInnerClass(owner, erase(parameterizedType), params)
+                    : TypeFactory.parameterizedInnerClass(owner, erase(parameterizedType), params);
+        }
+        if (unresolved instanceof TypeVariable) {
+            TypeVariable<?> var = (TypeVariable<?>) unresolved;
+            if (var.getGenericDeclaration() instanceof Class) {
+                Type resolved = getTypeParameter(typeAndParams, (Class<?>) var.getGenericDeclaration(), var);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+            if (mappingMode.equals(VarMap.MappingMode.ALLOW_INCOMPLETE)) {
+                return unresolved;
+            }
+            throw new IllegalArgumentException("Variable " + var.getName() + " is not declared by the given type "
+                                               + typeAndParams.getTypeName() + " or its super types");
+        }
+        if (unresolved instanceof GenericArrayType) {
+            Type componentType = resolve(((GenericArrayType) unresolved).getGenericComponentType(), typeAndParams, mappingMode);
+            return TypeFactory.arrayOf(componentType);
+        }
+        if (unresolved instanceof WildcardType) {
+            // the annotated counterpart resolves the bounds, but keeps the original wildcard as its type,
+            // so it only accepts bounds resolved to the same erasure
+            WildcardType wildcard = (WildcardType) unresolved;
+            checkResolvedBounds(wildcard, wildcard.getLowerBounds(), typeAndParams, mappingMode);
+            checkResolvedBounds(wildcard, wildcard.getUpperBounds(), typeAndParams, mappingMode);
+        }
+        return unresolved;
+    }
+
+    private static void checkResolvedBounds(WildcardType wildcard, Type[] bounds, Type typeAndParams, VarMap.MappingMode mappingMode) {
+        for (Type bound : bounds) {
+            Type resolved = resolve(bound, typeAndParams, mappingMode);
+            if (erase(bound) != erase(resolved)) {
+                throw new IllegalArgumentException("Bound " + resolved + " incompatible with " + bound + " in type " + wildcard);
+            }
+        }
+    }
+
+    /**
+     * Returns the type of the given type's annotated owner, as {@link GenericTypeReflector#annotate(Type)} sees it.
+     */
+    private static Type ownerOf(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getOwnerType();
+        }
+        if (type instanceof Class) {
+            return ((Class<?>) type).getDeclaringClass();
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the given class, or the classes used directly as its type arguments, with parameterized types using
+     * their own type variables. Only the types that {@link GenericTypeReflector#annotate(Type)} would expose
+     * as expanded are replaced, everything nested deeper is kept as is.
+     */
+    private static Type expandGenerics(Type type) {
+        if (type instanceof Class) {
+            return expandClassGenerics((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments().clone();
+            boolean changed = false;
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i] instanceof Class) {
+                    Type expanded = expandClassGenerics((Class<?>) arguments[i]);
+                    changed |= expanded != arguments[i];
+                    arguments[i] = expanded;
+                }
+            }
+            Type owner = parameterized.getOwnerType();
+            Type expandedOwner = owner == null ? null : expandGenerics(owner);
+            if (!changed && expandedOwner == owner) {
+                return type;
+            }
+            return TypeFactory.intern(new ParameterizedTypeImpl((Class<?>) parameterized.getRawType(), arguments, expandedOwner));
+        }
+        return type;
+    }
+
+    private static Type expandClassGenerics(Class<?> clazz) {
+        TypeVariable<?>[] typeParameters = ClassMetadata.of(clazz).getTypeParameters();
+        if (typeParameters.length > 0) {
+            return TypeFactory.intern(new ParameterizedTypeImpl(clazz, typeParameters.clone(), clazz.getDeclaringClass()));
+        }
+        return clazz;
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactReturnType(Method, Type)
+     */
+    static Type getReturnType(Method m, Type declaringType, VarMap.MappingMode mappingMode) {
+        return mapTypeParameters(m.getGenericReturnType(), exactDeclaringType(m.getDeclaringClass(), m, declaringType, "method "), mappingMode);
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactFieldType(Field, Type)
+     */
+    static Type getFieldType(Field f, Type declaringType, VarMap.MappingMode mappingMode) {
+        return mapTypeParameters(f.getGenericType(), exactDeclaringType(f.getDeclaringClass(), f, declaringType, "field "), mappingMode);
+    }
+
+    /**
+     * @see GenericTypeReflector#getExactParameterTypes(Executable, Type)
+     */
+    static Type[] getParameterTypes(Executable exe, Type declaringType, VarMap.MappingMode mappingMode) {
+        Type[] parameterTypes = exe.getGenericParameterTypes();
+        if (parameterTypes.length != exe.getParameterCount()) {
+            // the generic signature leaves out implicit and synthetic parameters, unlike the annotated types
+            parameterTypes = Arrays.stream(exe.getAnnotatedParameterTypes()).map(AnnotatedType::getType).toArray(Type[]::new);
+        }
+        Type exactDeclaringType = exactDeclaringType(exe.getDeclaringClass(), exe, declaringType, "method/constructor ");
+        Type[] result = new Type[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            result[i] = mapTypeParameters(parameterTypes[i], exactDeclaringType, mappingMode);
+        }
+        return result;
+    }
+
+    private static Type exactDeclaringType(Class<?> declaringClass, Object member, Type declaringType, String kind) {
+        Type exactDeclaringType = getExactSuperType(capture(declaringType), declaringClass);
+        if (exactDeclaringType == null) { // capture(type) is not a subtype of the declaring class
+            throw new IllegalArgumentException("The " + kind + member + " is not a member of type " + declaringType.getTypeName());
+        }
+        return exactDeclaringType;
+    }
+}
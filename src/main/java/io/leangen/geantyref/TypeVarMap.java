@@ -0,0 +1,104 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapping between type variables and actual parameters, for types without annotations.
+ * The equivalent of {@link VarMap} used by {@link TypeResolver}, producing the same types
+ * {@link VarMap} would, minus the {@link java.lang.reflect.AnnotatedType} wrappers.
+ */
+@SuppressWarnings("rawtypes")
+class TypeVarMap {
+
+    private final Map<GenericDeclaration, VarMap.Bindings<Type>> bindings = new HashMap<>();
+    private Map<TypeVariable, TypeVariableImpl> varCache;
+
+    void add(TypeVariable variable, Type value) {
+        bindings.computeIfAbsent(variable.getGenericDeclaration(), VarMap.Bindings<Type>::new).put(variable, value);
+    }
+
+    void addAll(TypeVariable[] variables, Type[] values) {
+        assert variables.length == values.length;
+        for (int i = 0; i < variables.length; i++) {
+            add(variables[i], values[i]);
+        }
+    }
+
+    /**
+     * @see VarMap#bindsAll(TypeVariable[])
+     */
+    boolean bindsAll(TypeVariable[] variables) {
+        for (TypeVariable variable : variables) {
+            VarMap.Bindings<Type> bound = bindings.get(variable.getGenericDeclaration());
+            if (bound == null || bound.indexOf(variable) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Type map(Type type, VarMap.MappingMode mappingMode) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            TypeVariable<?> tv = (TypeVariable) type;
+            VarMap.Bindings<Type> bound = bindings.get(tv.getGenericDeclaration());
+            int index = bound == null ? -1 : bound.indexOf(tv);
+            if (index >= 0) {
+                return bound.value(index);
+            }
+            if (mappingMode.equals(VarMap.MappingMode.ALLOW_INCOMPLETE)) {
+                if (varCache == null) {
+                    varCache = new HashMap<>();
+                } else if (varCache.containsKey(tv)) {
+                    return varCache.get(tv);
+                }
+                TypeVariableImpl<?> variable = new TypeVariableImpl<>(tv);
+                varCache.put(tv, variable);
+                return variable.init(map(tv.getBounds(), mappingMode));
+            }
+            throw new UnresolvedTypeVariableException(tv);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType pType = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) pType.getRawType();
+            Type[] arguments = ParameterizedTypeImpl.argumentsOf(pType);
+            Type[] typeParameters = new Type[ClassMetadata.of(raw).getTypeParameters().length];
+            for (int i = 0; i < typeParameters.length; i++) {
+                typeParameters[i] = map(arguments[i], mappingMode);
+            }
+            Type ownerType = pType.getOwnerType() == null ? null : map(pType.getOwnerType(), mappingMode);
+            return TypeFactory.intern(new ParameterizedTypeImpl(raw, typeParameters, ownerType));
+        } else if (type instanceof WildcardType) {
+            WildcardType wType = (WildcardType) type;
+            Type[] upperBounds = map(wType.getUpperBounds(), mappingMode);
+            if (upperBounds.length == 0) {
+                upperBounds = wType.getUpperBounds();
+            }
+            return TypeFactory.intern(new WildcardTypeImpl(upperBounds, map(wType.getLowerBounds(), mappingMode)));
+        } else if (type instanceof GenericArrayType) {
+            return GenericArrayTypeImpl.createArrayType(map(((GenericArrayType) type).getGenericComponentType(), mappingMode));
+        } else {
+            throw new RuntimeException("Not implemented: mapping " + type.getClass() + " (" + type + ")");
+        }
+    }
+
+    Type[] map(Type[] types, VarMap.MappingMode mappingMode) {
+        Type[] result = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            result[i] = map(types[i], mappingMode);
+        }
+        return result;
+    }
+}
@@ -21,7 +21,22 @@ public class TypeVariableImpl<D extends GenericDeclaration> implements TypeVaria
     private final Map<Class<? extends Annotation>, Annotation> annotations;
     private final D genericDeclaration;
     private final String name;
-    private final AnnotatedType[] bounds;
+    private AnnotatedType[] bounds;
+    private Type[] rawBounds;
+
+    /**
+     * Creates a variable whose bounds are not known yet. Before using it, {@link #init(Type[])} must be called.
+     * Needed for variables whose bounds refer to the variable itself.
+     */
+    TypeVariableImpl(TypeVariable<D> variable) {
+        Objects.requireNonNull(variable);
+        this.genericDeclaration = variable.getGenericDeclaration();
+        this.name = variable.getName();
+        this.annotations = new HashMap<>();
+        for (Annotation annotation : variable.getAnnotations()) {
+            this.annotations.put(annotation.annotationType(), annotation);
+        }
+    }
 
     TypeVariableImpl(TypeVariable<D> variable, AnnotatedType[] bounds) {
         this(variable, variable.getAnnotations(), bounds);
@@ -41,8 +56,22 @@ public class TypeVariableImpl<D extends GenericDeclaration> implements TypeVaria
         this.bounds = bounds;
     }
 
+    /**
+     * Initializes a variable created without bounds. The annotated bounds are derived from these on demand.
+     */
+    TypeVariableImpl<D> init(Type[] bounds) {
+        if (bounds == null || bounds.length == 0) {
+            throw new IllegalArgumentException("There must be at least one bound. For an unbound variable, the bound must be Object");
+        }
+        this.rawBounds = bounds;
+        return this;
+    }
+
     @Override
     public Type[] getBounds() {
+        if (rawBounds != null) {
+            return rawBounds.clone();
+        }
         return Arrays.stream(this.bounds).map(AnnotatedType::getType).toArray(Type[]::new);
     }
 
@@ -58,6 +87,9 @@ public class TypeVariableImpl<D extends GenericDeclaration> implements TypeVaria
 
     @Override
     public AnnotatedType[] getAnnotatedBounds() {
+        if (this.bounds == null) {
+            this.bounds = Arrays.stream(this.rawBounds).map(GenericTypeReflector::annotate).toArray(AnnotatedType[]::new);
+        }
         return this.bounds;
     }
 
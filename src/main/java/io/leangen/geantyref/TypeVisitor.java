@@ -8,9 +8,11 @@ import java.lang.reflect.AnnotatedWildcardType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.leangen.geantyref.GenericTypeReflector.transform;
@@ -20,31 +22,33 @@ public abstract class TypeVisitor {
 
 	private final Map<TypeVariable, AnnotatedTypeVariable> varCache = new IdentityHashMap<>();
 	private final Map<AnnotatedCaptureCacheKey, AnnotatedType> captureCache = new HashMap<>();
+	// keys of both caches in the order they were added, so optimistic additions can be undone
+	private final List<Object> cachedKeys = new ArrayList<>();
 
 	protected AnnotatedType visitParameterizedType(AnnotatedParameterizedType type) {
-		AnnotatedType[] params = Arrays.stream(type.getAnnotatedActualTypeArguments())
-				.map(param -> transform(param, this))
-				.toArray(AnnotatedType[]::new);
+		AnnotatedType[] arguments = type.getAnnotatedActualTypeArguments();
+		AnnotatedType[] params = transformAll(arguments);
 		AnnotatedType owner = type.getAnnotatedOwnerType();
-		if (owner != null) {
-			owner = transform(owner, this);
+		AnnotatedType transformedOwner = owner == null ? null : transform(owner, this);
+		if (params == arguments && transformedOwner == owner && reuses(type)) {
+			return type;
 		}
-
-		return GenericTypeReflector.replaceParameters(type, params, owner);
+		return GenericTypeReflector.replaceParameters(type, params, transformedOwner);
 	}
 
 	protected AnnotatedType visitWildcardType(AnnotatedWildcardType type) {
-		AnnotatedType[] lowerBounds = Arrays.stream(type.getAnnotatedLowerBounds())
-				.map(bound -> transform(bound, this))
-				.toArray(AnnotatedType[]::new);
-		AnnotatedType[] upperBounds = Arrays.stream(type.getAnnotatedUpperBounds())
-				.map(bound -> transform(bound, this))
-				.toArray(AnnotatedType[]::new);
-		WildcardType inner = new WildcardTypeImpl(
+		AnnotatedType[] originalLowerBounds = type.getAnnotatedLowerBounds();
+		AnnotatedType[] originalUpperBounds = type.getAnnotatedUpperBounds();
+		AnnotatedType[] lowerBounds = transformAll(originalLowerBounds);
+		AnnotatedType[] upperBounds = transformAll(originalUpperBounds);
+		if (lowerBounds == originalLowerBounds && upperBounds == originalUpperBounds && reuses(type)) {
+			return type;
+		}
+		WildcardType inner = TypeFactory.intern(new WildcardTypeImpl(
 				upperBounds.length > 0
 						? Arrays.stream(upperBounds).map(AnnotatedType::getType).toArray(Type[]::new)
 						: new Type[] {Object.class},
-				Arrays.stream(lowerBounds).map(AnnotatedType::getType).toArray(Type[]::new));
+				Arrays.stream(lowerBounds).map(AnnotatedType::getType).toArray(Type[]::new)));
 		return new AnnotatedWildcardTypeImpl(inner, type.getAnnotations(),
 				lowerBounds, upperBounds);
 	}
@@ -54,8 +58,14 @@ public abstract class TypeVisitor {
 		if (varCache.containsKey(var)) {
 			return varCache.get(var);
 		}
+		if (reuses(type)) {
+			AnnotatedType[] bounds = type.getAnnotatedBounds();
+			if (keepsBounds(() -> cacheVariable(var, type), bounds)) {
+				return type;
+			}
+		}
 		AnnotatedTypeVariableImpl variable = new AnnotatedTypeVariableImpl((TypeVariable<?>) var, type.getAnnotations());
-		varCache.put(var, variable);
+		cacheVariable(var, variable);
 		AnnotatedType[] bounds = Arrays.stream(type.getAnnotatedBounds())
 				.map(bound -> transform(bound, this))
 				.toArray(AnnotatedType[]::new);
@@ -64,7 +74,11 @@ public abstract class TypeVisitor {
 	}
 
 	protected AnnotatedType visitArray(AnnotatedArrayType type) {
-		AnnotatedType componentType = transform(type.getAnnotatedGenericComponentType(), this);
+		AnnotatedType original = type.getAnnotatedGenericComponentType();
+		AnnotatedType componentType = transform(original, this);
+		if (componentType == original && reuses(type)) {
+			return type;
+		}
 		return new AnnotatedArrayTypeImpl(GenericArrayTypeImpl.createArrayType(componentType.getType()), type.getAnnotations(), componentType);
 	}
 
@@ -74,6 +88,10 @@ public abstract class TypeVisitor {
 			return captureCache.get(key);
 		}
 		AnnotatedType[] lowerBounds = type.getAnnotatedLowerBounds();
+		if (reuses(type) && keepsBounds(() -> cacheCapture(key, type),
+				lowerBounds != null ? lowerBounds : new AnnotatedType[0], type.getAnnotatedUpperBounds())) {
+			return type;
+		}
 		if (lowerBounds != null)  {
 			lowerBounds = Arrays.stream(lowerBounds)
 					.map(bound -> transform(bound, this))
@@ -82,7 +100,7 @@ public abstract class TypeVisitor {
 		AnnotatedCaptureType annotatedCapture = new AnnotatedCaptureTypeImpl((CaptureType) type.getType(),
 				type.getAnnotatedWildcardType(), type.getAnnotatedTypeVariable(),
 				lowerBounds, null, type.getAnnotations());
-		captureCache.put(key, annotatedCapture);
+		cacheCapture(key, annotatedCapture);
 		AnnotatedType[] upperBounds = Arrays.stream(type.getAnnotatedUpperBounds())
 				.map(bound -> transform(bound, this))
 				.toArray(AnnotatedType[]::new);
@@ -98,6 +116,66 @@ public abstract class TypeVisitor {
 		return type;
 	}
 
+	/**
+	 * Checks whether a node can be returned as is when none of its children changed.
+	 * Visitors that must produce specific implementations, like {@link GenericTypeReflector#toCanonical(AnnotatedType)}, restrict this.
+	 */
+	boolean reuses(AnnotatedType type) {
+		return true;
+	}
+
+	/**
+	 * Transforms all the given types, returning the very same array if none of them changed.
+	 */
+	AnnotatedType[] transformAll(AnnotatedType[] types) {
+		AnnotatedType[] result = types;
+		for (int i = 0; i < types.length; i++) {
+			AnnotatedType transformed = transform(types[i], this);
+			if (transformed != types[i]) {
+				if (result == types) {
+					result = types.clone();
+				}
+				result[i] = transformed;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the bounds of a type variable or capture, which may refer back to it, all stay unchanged.
+	 * The node is optimistically registered as its own transformation first, so such references resolve to it.
+	 * If any bound does change, everything transformed under that assumption is forgotten so it can be redone.
+	 */
+	private boolean keepsBounds(Runnable registerSelf, AnnotatedType[]... bounds) {
+		// the caches only ever grow, so undoing means removing the keys added since
+		int mark = cachedKeys.size();
+		registerSelf.run();
+		for (AnnotatedType[] bound : bounds) {
+			if (transformAll(bound) != bound) {
+				for (int i = cachedKeys.size() - 1; i >= mark; i--) {
+					Object key = cachedKeys.remove(i);
+					if (key instanceof AnnotatedCaptureCacheKey) {
+						captureCache.remove(key);
+					} else {
+						varCache.remove(key);
+					}
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void cacheVariable(TypeVariable<?> var, AnnotatedTypeVariable transformed) {
+		varCache.put(var, transformed);
+		cachedKeys.add(var);
+	}
+
+	private void cacheCapture(AnnotatedCaptureCacheKey key, AnnotatedType transformed) {
+		captureCache.put(key, transformed);
+		cachedKeys.add(key);
+	}
+
 	private static class AnnotatedCaptureCacheKey {
 		AnnotatedCaptureType capture;
 		CaptureType raw;
@@ -7,6 +7,7 @@ package io.leangen.geantyref;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,6 +18,8 @@ import static java.util.Arrays.stream;
 
 /**
  * Mapping between type variables and actual parameters.
+ * <p>Bindings are kept in one table per generic declaration, indexed by the position of the variable
+ * in the declaration's type parameters, so a lookup is a single hash probe followed by an array access.</p>
  *
  * @author Wouter Coekaerts {@literal (wouter@coekaerts.be)}
  * @author Bojan Tomic {@literal (veggen@gmail.com)}
@@ -24,7 +27,7 @@ import static java.util.Arrays.stream;
 @SuppressWarnings("rawtypes")
 class VarMap {
 
-    private final Map<TypeVariable, AnnotatedType> map = new HashMap<>();
+    private final Map<GenericDeclaration, Bindings<AnnotatedType>> bindings = new HashMap<>();
     private final Map<AnnotatedTypeVariable, AnnotatedTypeVariable> varCache = new HashMap<>();
 
     /**
@@ -42,7 +45,7 @@ class VarMap {
         do {
             Class<?> clazz = (Class<?>) ((ParameterizedType) type.getType()).getRawType();
             AnnotatedType[] arguments = type.getAnnotatedActualTypeArguments();
-            TypeVariable[] typeParameters = clazz.getTypeParameters();
+            TypeVariable[] typeParameters = ClassMetadata.of(clazz).getTypeParameters();
 
             // since we're looping over two arrays in parallel, just to be sure check they have the same size
             if (arguments.length != typeParameters.length) {
@@ -69,33 +72,48 @@ class VarMap {
     }
 
     void add(TypeVariable variable, AnnotatedType value) {
-        map.put(variable, value);
+        bindings.computeIfAbsent(variable.getGenericDeclaration(), Bindings<AnnotatedType>::new).put(variable, value);
     }
 
     void addAll(TypeVariable[] variables, AnnotatedType[] values) {
         assert variables.length == values.length;
         for (int i = 0; i < variables.length; i++) {
-            map.put(variables[i], values[i]);
+            add(variables[i], values[i]);
         }
     }
 
+    /**
+     * Checks whether all the given variables are bound, so mapping a type using no other variables can not fail.
+     */
+    boolean bindsAll(TypeVariable[] variables) {
+        for (TypeVariable variable : variables) {
+            Bindings<AnnotatedType> bound = bindings.get(variable.getGenericDeclaration());
+            if (bound == null || bound.indexOf(variable) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     AnnotatedType map(AnnotatedType type) {
         return map(type, MappingMode.EXACT);
     }
 
     AnnotatedType map(AnnotatedType type, MappingMode mappingMode) {
         if (type.getType() instanceof Class) {
-            return updateAnnotations(type, ((Class) type.getType()).getAnnotations());
+            return updateAnnotations(type, ClassMetadata.of((Class<?>) type.getType()).getAnnotations());
         } else if (type instanceof AnnotatedTypeVariable) {
             TypeVariable<?> tv = (TypeVariable) type.getType();
-            if (!map.containsKey(tv)) {
+            Bindings<AnnotatedType> bound = bindings.get(tv.getGenericDeclaration());
+            int index = bound == null ? -1 : bound.indexOf(tv);
+            if (index < 0) {
                 if (mappingMode.equals(MappingMode.ALLOW_INCOMPLETE)) {
                     AnnotatedTypeVariable variable = cloneVar((AnnotatedTypeVariable) type);
 
                     if (varCache.containsKey(variable)) {
                         return varCache.get(variable);
                     }
-                    Annotation[] merged = merge(variable.getAnnotations(), tv.getAnnotations());
+                    Annotation[] merged = merge(variable.getAnnotations(), ClassMetadata.annotationsOf(tv));
                     AnnotatedTypeVariableImpl v = new AnnotatedTypeVariableImpl(tv, merged);
                     varCache.put(variable, v);
                     AnnotatedType[] bounds = map(variable.getAnnotatedBounds(), mappingMode);
@@ -104,23 +122,25 @@ class VarMap {
                     throw new UnresolvedTypeVariableException(tv);
                 }
             }
-            //#IMPLTNOTE1 Flip key.equals(tv), as the equality check will fail if the underlying variable is replaced
-            TypeVariable varFromClass = map.keySet().stream().filter(key -> key.equals(tv)).findFirst().get();
-            Annotation[] merged = merge(type.getAnnotations(), tv.getAnnotations(), map.get(tv).getAnnotations(), varFromClass.getAnnotations());
-            return updateAnnotations(map.get(tv), merged);
+            //#IMPLTNOTE1 Use the variable as it was bound, as the one being mapped may have been replaced
+            TypeVariable varFromClass = bound.variable(index);
+            AnnotatedType value = bound.value(index);
+            Annotation[] merged = merge(type.getAnnotations(), ClassMetadata.annotationsOf(tv), value.getAnnotations(), ClassMetadata.annotationsOf(varFromClass));
+            return updateAnnotations(value, merged);
         } else if (type instanceof AnnotatedParameterizedType) {
             AnnotatedParameterizedType pType = (AnnotatedParameterizedType) type;
             ParameterizedType inner = (ParameterizedType) pType.getType();
             Class raw = (Class) inner.getRawType();
-            AnnotatedType[] typeParameters = new AnnotatedType[raw.getTypeParameters().length];
+            ClassMetadata metadata = ClassMetadata.of(raw);
+            AnnotatedType[] typeParameters = new AnnotatedType[metadata.getTypeParameters().length];
             for (int i = 0; i < typeParameters.length; i++) {
                 AnnotatedType typeParameter = map(pType.getAnnotatedActualTypeArguments()[i], mappingMode);
-                typeParameters[i] = updateAnnotations(typeParameter, raw.getTypeParameters()[i].getAnnotations());
+                typeParameters[i] = updateAnnotations(typeParameter, metadata.getTypeParameterAnnotations(i));
             }
             Type[] rawArgs = stream(typeParameters).map(AnnotatedType::getType).toArray(Type[]::new);
             AnnotatedType ownerType = pType.getAnnotatedOwnerType() == null ? null : map(pType.getAnnotatedOwnerType(), mappingMode);
-            ParameterizedType newInner = new ParameterizedTypeImpl((Class) inner.getRawType(), rawArgs, ownerType != null ? ownerType.getType() : null);
-            return new AnnotatedParameterizedTypeImpl(newInner, merge(pType.getAnnotations(), raw.getAnnotations()), typeParameters, ownerType);
+            ParameterizedType newInner = TypeFactory.intern(new ParameterizedTypeImpl((Class) inner.getRawType(), rawArgs, ownerType != null ? ownerType.getType() : null));
+            return new AnnotatedParameterizedTypeImpl(newInner, merge(pType.getAnnotations(), metadata.getAnnotations()), typeParameters, ownerType);
         } else if (type instanceof AnnotatedWildcardType) {
             AnnotatedWildcardType wType = (AnnotatedWildcardType) type;
             AnnotatedType[] up = map(wType.getAnnotatedUpperBounds(), mappingMode);
@@ -131,7 +151,7 @@ class VarMap {
             } else {
                 upperBounds = stream(up).map(AnnotatedType::getType).toArray(Type[]::new);
             }
-            WildcardType w = new WildcardTypeImpl(upperBounds, stream(lw).map(AnnotatedType::getType).toArray(Type[]::new));
+            WildcardType w = TypeFactory.intern(new WildcardTypeImpl(upperBounds, stream(lw).map(AnnotatedType::getType).toArray(Type[]::new)));
             return new AnnotatedWildcardTypeImpl(w, wType.getAnnotations(), lw, up);
         } else if (type instanceof AnnotatedArrayType) {
             return AnnotatedArrayTypeImpl.createArrayType(map(((AnnotatedArrayType) type).getAnnotatedGenericComponentType(), mappingMode), type.getAnnotations());
@@ -171,4 +191,67 @@ class VarMap {
         }
         return new AnnotatedTypeVariableImpl((TypeVariable<?>) v.getType(), v.getAnnotations());
     }
+
+    /**
+     * The values bound to the type parameters of a single generic declaration.
+     * Slots are laid out in declaration order, with any undeclared variables appended at the end.
+     */
+    static final class Bindings<V> {
+
+        private String[] names;
+        private TypeVariable[] variables;
+        private Object[] values;
+
+        Bindings(GenericDeclaration declaration) {
+            TypeVariable<?>[] declared = declaration instanceof Class
+                    ? ClassMetadata.of((Class<?>) declaration).getTypeParameters()
+                    : declaration.getTypeParameters();
+            this.names = new String[declared.length];
+            for (int i = 0; i < declared.length; i++) {
+                names[i] = declared[i].getName();
+            }
+            this.variables = new TypeVariable[declared.length];
+            this.values = new Object[declared.length];
+        }
+
+        void put(TypeVariable variable, V value) {
+            int index = slotOf(variable);
+            if (index < 0) {
+                index = names.length;
+                names = Arrays.copyOf(names, index + 1);
+                variables = Arrays.copyOf(variables, index + 1);
+                values = Arrays.copyOf(values, index + 1);
+                names[index] = variable.getName();
+            }
+            variables[index] = variable;
+            values[index] = value;
+        }
+
+        TypeVariable variable(int index) {
+            return variables[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int index) {
+            return (V) values[index];
+        }
+
+        /**
+         * @return The slot holding the value bound to {@code variable}, or -1 if it is not bound
+         */
+        int indexOf(TypeVariable<?> variable) {
+            int index = slotOf(variable);
+            return index >= 0 && values[index] != null ? index : -1;
+        }
+
+        private int slotOf(TypeVariable<?> variable) {
+            String name = variable.getName();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,361 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.AnnotatedTypeVariable;
+import java.lang.reflect.AnnotatedWildcardType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.TypeVariable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static io.leangen.geantyref.GenericTypeReflector.toCanonical;
+
+/**
+ * A {@link Map} keyed by {@link AnnotatedType}, with the same canonical key semantics as {@link AnnotatedTypeMap},
+ * that does not keep the classes its keys refer to from being unloaded.
+ * <p>Canonical keys are created on demand, so they can not simply be referenced weakly. Instead, each mapping is stored
+ * with one of the classes the key refers to, the one defined by the most deeply nested class loader, and lives exactly
+ * as long as that class does, much like a {@link ClassValue}. The classes a key refers to include the annotation types,
+ * and the classes, enum types and nested annotation types among the values of the annotation members. Once the class
+ * is unloaded, the mapping disappears without any manual clearing, and the map forgets about the class the next time
+ * it is accessed.
+ * A mapping therefore never keeps alive any classes its key refers to, as long as the class loaders they come from are
+ * the same or ancestors of one another, as is the case with the usual parent-first delegation, and the members of the
+ * annotations can be read reflectively. Values are held strongly by the class the mapping is stored with, so a value
+ * must not refer to classes from other class loaders either.</p>
+ * <p>The map is safe for concurrent use. Reads never lock and {@link #computeIfAbsent(AnnotatedType, Function)} is atomic,
+ * but neither keys nor values may be {@code null}. Iteration is weakly consistent.</p>
+ *
+ * @param <V> the type of mapped values
+ *
+ * @see AnnotatedTypeMap
+ */
+public class WeakAnnotatedTypeMap<K extends AnnotatedType, V> extends AbstractMap<K, V> {
+
+    /**
+     * The members of each annotation type whose values refer to classes: those of a class, enum or annotation type,
+     * or an array of one of those.
+     */
+    private static final ClassValue<Method[]> CLASS_MEMBERS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> annotationType) {
+            List<Method> members = new ArrayList<>();
+            for (Method member : annotationType.getDeclaredMethods()) {
+                Class<?> valueType = member.getReturnType().isArray() ? member.getReturnType().getComponentType() : member.getReturnType();
+                if (valueType == Class.class || valueType.isEnum() || valueType.isAnnotation()) {
+                    try {
+                        member.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        // not opened to this module, so only a public member of an exported annotation type can be read
+                    }
+                    members.add(member);
+                }
+            }
+            return members.toArray(new Method[0]);
+        }
+    };
+
+    private final Partitions<K, V> partitions = new Partitions<>();
+    private final Map<Class<?>, Boolean> anchors = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Creates an empty map.
+     */
+    public WeakAnnotatedTypeMap() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Map<K, V> partition : livePartitions()) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof AnnotatedType)) {
+            return null;
+        }
+        AnnotatedType canonical = toCanonical((AnnotatedType) key);
+        return partitions.get(anchorOf(canonical)).get(canonical);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(K key, V value) {
+        K canonical = toCanonical(key);
+        return partitionFor(canonical).put(canonical, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+        if (!(key instanceof AnnotatedType)) {
+            return null;
+        }
+        AnnotatedType canonical = toCanonical((AnnotatedType) key);
+        return partitions.get(anchorOf(canonical)).remove(canonical);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        K canonical = toCanonical(key);
+        Class<?> anchor = anchorOf(canonical);
+        V value = partitions.get(anchor).get(canonical);
+        if (value != null) {
+            return value; // a hit must not lock, so the anchor is only registered on a miss
+        }
+        anchors.put(anchor, Boolean.TRUE);
+        return partitions.get(anchor).computeIfAbsent(canonical, mappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        for (Map<K, V> partition : livePartitions()) {
+            partition.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(livePartitions().iterator());
+            }
+
+            @Override
+            public int size() {
+                return WeakAnnotatedTypeMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                WeakAnnotatedTypeMap.this.clear();
+            }
+        };
+    }
+
+    private ConcurrentHashMap<K, V> partitionFor(AnnotatedType canonical) {
+        Class<?> anchor = anchorOf(canonical);
+        anchors.put(anchor, Boolean.TRUE);
+        return partitions.get(anchor);
+    }
+
+    private List<ConcurrentHashMap<K, V>> livePartitions() {
+        List<ConcurrentHashMap<K, V>> live = new ArrayList<>();
+        synchronized (anchors) {
+            for (Class<?> anchor : anchors.keySet()) {
+                live.add(partitions.get(anchor));
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Finds the class the mapping of the given key is stored with.
+     */
+    private static Class<?> anchorOf(AnnotatedType canonical) {
+        Class<?> anchor = GenericTypeReflector.query(canonical, new AnchorQuery());
+        return anchor == null ? Object.class : anchor;
+    }
+
+    private static int depth(ClassLoader loader) {
+        int depth = 0;
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Finds the class, among all the classes a type refers to, that is defined by the most deeply nested class loader.
+     */
+    private static class AnchorQuery extends TypeQuery<Class<?>> {
+
+        @Override
+        protected Class<?> defaultResult() {
+            return null;
+        }
+
+        @Override
+        protected Class<?> combine(Class<?> result, Class<?> next) {
+            if (result == null) {
+                return next;
+            }
+            return next != null && depth(next.getClassLoader()) > depth(result.getClassLoader()) ? next : result;
+        }
+
+        @Override
+        protected Class<?> visitParameterizedType(AnnotatedParameterizedType type) {
+            return combine(ownClasses(type, GenericTypeReflector.erase(type.getType())), super.visitParameterizedType(type));
+        }
+
+        @Override
+        protected Class<?> visitWildcardType(AnnotatedWildcardType type) {
+            return combine(ownClasses(type, null), super.visitWildcardType(type));
+        }
+
+        @Override
+        protected Class<?> visitVariable(AnnotatedTypeVariable type) {
+            GenericDeclaration declaration = ((TypeVariable<?>) type.getType()).getGenericDeclaration();
+            Class<?> declaringClass = declaration instanceof Class ? (Class<?>) declaration : ((Member) declaration).getDeclaringClass();
+            return combine(ownClasses(type, declaringClass), super.visitVariable(type));
+        }
+
+        @Override
+        protected Class<?> visitArray(AnnotatedArrayType type) {
+            return combine(ownClasses(type, null), super.visitArray(type));
+        }
+
+        @Override
+        protected Class<?> visitCaptureType(AnnotatedCaptureType type) {
+            return combine(ownClasses(type, null), super.visitCaptureType(type));
+        }
+
+        @Override
+        protected Class<?> visitClass(AnnotatedType type) {
+            return ownClasses(type, (Class<?>) type.getType());
+        }
+
+        @Override
+        protected Class<?> visitUnmatched(AnnotatedType type) {
+            return ownClasses(type, null);
+        }
+
+        private Class<?> ownClasses(AnnotatedType type, Class<?> clazz) {
+            Class<?> result = clazz;
+            for (Annotation annotation : type.getAnnotations()) {
+                result = combine(result, annotationClasses(annotation));
+            }
+            return result;
+        }
+
+        private Class<?> annotationClasses(Annotation annotation) {
+            Class<?> result = annotation.annotationType();
+            for (Method member : CLASS_MEMBERS.get(annotation.annotationType())) {
+                try {
+                    result = combine(result, valueClasses(member.invoke(annotation)));
+                } catch (ReflectiveOperationException e) {
+                    // the value can not be read, so it can not be taken into account either
+                }
+            }
+            return result;
+        }
+
+        private Class<?> valueClasses(Object value) {
+            if (value instanceof Class) {
+                return (Class<?>) value;
+            }
+            if (value instanceof Enum) {
+                return ((Enum<?>) value).getDeclaringClass();
+            }
+            if (value instanceof Annotation) {
+                return annotationClasses((Annotation) value);
+            }
+            Class<?> result = null;
+            if (value instanceof Object[]) {
+                for (Object element : (Object[]) value) {
+                    result = combine(result, valueClasses(element));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The mappings stored with each class, created on first access.
+     */
+    private static class Partitions<K, V> extends ClassValue<ConcurrentHashMap<K, V>> {
+        @Override
+        protected ConcurrentHashMap<K, V> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    private static class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        private final Iterator<ConcurrentHashMap<K, V>> partitions;
+        private Iterator<Entry<K, V>> current = Collections.emptyIterator();
+        private Iterator<Entry<K, V>> lastReturned;
+
+        EntryIterator(Iterator<ConcurrentHashMap<K, V>> partitions) {
+            this.partitions = partitions;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && partitions.hasNext()) {
+                current = partitions.next().entrySet().iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = current;
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.remove();
+            lastReturned = null;
+        }
+    }
+}
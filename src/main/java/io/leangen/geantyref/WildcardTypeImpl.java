@@ -12,12 +12,14 @@ import java.util.Arrays;
 class WildcardTypeImpl implements WildcardType {
     private final Type[] upperBounds;
     private final Type[] lowerBounds;
+    private final int hash;
 
     WildcardTypeImpl(Type[] upperBounds, Type[] lowerBounds) {
         if (upperBounds.length == 0)
             throw new IllegalArgumentException("There must be at least one upper bound. For an unbound wildcard, the upper bound must be Object");
         this.upperBounds = upperBounds;
         this.lowerBounds = lowerBounds;
+        this.hash = Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
     }
 
     public Type[] getUpperBounds() {
@@ -30,16 +32,23 @@ class WildcardTypeImpl implements WildcardType {
 
     @Override
     public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof WildcardType)) {
             return false;
         }
+        if (other instanceof WildcardTypeImpl) {
+            WildcardTypeImpl that = (WildcardTypeImpl) other;
+            return this.hash == that.hash && Arrays.equals(this.lowerBounds, that.lowerBounds) && Arrays.equals(this.upperBounds, that.upperBounds);
+        }
         WildcardType that = (WildcardType) other;
-        return Arrays.equals(this.getLowerBounds(), that.getLowerBounds()) && Arrays.equals(this.getUpperBounds(), that.getUpperBounds());
+        return Arrays.equals(this.lowerBounds, that.getLowerBounds()) && Arrays.equals(this.upperBounds, that.getUpperBounds());
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.getLowerBounds()) ^ Arrays.hashCode(this.getUpperBounds());
+        return hash;
     }
 
     @Override
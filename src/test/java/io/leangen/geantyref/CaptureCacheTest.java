@@ -0,0 +1,148 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static io.leangen.geantyref.Annotations.A2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CaptureCacheTest {
+
+    @After
+    public void disableCaches() {
+        GenericTypeReflector.disableCaptureCache();
+        GenericTypeReflector.disableMemberTypeCache();
+    }
+
+    @Test
+    public void capturesAreFreshByDefault() {
+        AnnotatedType type = new TypeToken<List<? extends Number>>(){}.getAnnotatedType();
+        assertNotEquals(GenericTypeReflector.capture(type), GenericTypeReflector.capture(type));
+    }
+
+    @Test
+    public void equalTypesShareTheirCapture() {
+        GenericTypeReflector.enableCaptureCache(16);
+        AnnotatedType first = GenericTypeReflector.capture(new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        AnnotatedType second = GenericTypeReflector.capture(new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        assertEquals(first, second);
+        assertSame(((ParameterizedType) first.getType()).getActualTypeArguments()[0], ((ParameterizedType) second.getType()).getActualTypeArguments()[0]);
+        assertTrue(((AnnotatedParameterizedType) first).getAnnotatedActualTypeArguments()[0] instanceof AnnotatedCaptureType);
+
+        AnnotatedType annotated = GenericTypeReflector.capture(new TypeToken<List<@A1 ? extends Number>>(){}.getAnnotatedType());
+        assertNotSame(first, annotated);
+
+        CacheStats stats = GenericTypeReflector.getCaptureCacheStats();
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+    }
+
+    @Test
+    public void typesWithoutWildcardsAreReturnedAsIs() {
+        AnnotatedType type = new TypeToken<Outer<String>.Inner<List<Integer>>>(){}.getAnnotatedType();
+        assertSame(type, GenericTypeReflector.capture(type));
+        assertSame(type.getType(), TypeResolver.capture(type.getType()));
+
+        AnnotatedType wildcardOwner = new TypeToken<Outer<?>.Inner<Integer>>(){}.getAnnotatedType();
+        AnnotatedType captured = GenericTypeReflector.capture(wildcardOwner);
+        assertNotSame(wildcardOwner, captured);
+        assertTrue(((AnnotatedParameterizedType) captured.getAnnotatedOwnerType()).getAnnotatedActualTypeArguments()[0] instanceof AnnotatedCaptureType);
+    }
+
+    @Test
+    public void typesWithoutWildcardsAreNotCached() {
+        GenericTypeReflector.enableCaptureCache(16);
+        AnnotatedType type = new TypeToken<List<String>>(){}.getAnnotatedType();
+        assertSame(type, GenericTypeReflector.capture(type));
+        assertEquals(0, GenericTypeReflector.getCaptureCacheStats().getMissCount());
+    }
+
+    @Test
+    public void recursiveBoundsReferToTheCachedCapture() {
+        GenericTypeReflector.enableCaptureCache(16);
+        AnnotatedParameterizedType captured = (AnnotatedParameterizedType) GenericTypeReflector.capture(new TypeToken<Enum<?>>(){}.getAnnotatedType());
+        AnnotatedCaptureType capture = (AnnotatedCaptureType) captured.getAnnotatedActualTypeArguments()[0];
+        ParameterizedType bound = (ParameterizedType) capture.getAnnotatedUpperBounds()[0].getType();
+        assertEquals(Enum.class, bound.getRawType());
+        assertSame(capture.getType(), bound.getActualTypeArguments()[0]);
+        assertEquals(captured, GenericTypeReflector.capture(new TypeToken<Enum<?>>(){}.getAnnotatedType()));
+
+        Type plain = TypeResolver.capture(new TypeToken<Enum<?>>(){}.getType());
+        assertSame(plain, TypeResolver.capture(new TypeToken<Enum<?>>(){}.getType()));
+        Type plainCapture = ((ParameterizedType) plain).getActualTypeArguments()[0];
+        Type plainBound = ((CaptureType) plainCapture).getUpperBounds()[0];
+        assertSame(plainCapture, ((ParameterizedType) plainBound).getActualTypeArguments()[0]);
+    }
+
+    @Test
+    public void memberTypesOfWildcardTypesAreCachedWithCaptures() throws NoSuchMethodException {
+        GenericTypeReflector.enableCaptureCache(16);
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = List.class.getMethod("get", int.class);
+
+        AnnotatedType first = GenericTypeReflector.getExactReturnType(get, new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        AnnotatedType second = GenericTypeReflector.getExactReturnType(get, new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        assertEquals(first, second);
+        assertTrue(first instanceof AnnotatedCaptureType);
+        assertEquals(1, GenericTypeReflector.getMemberTypeCacheStats().getHitCount());
+    }
+
+    @Test
+    public void resolvingMembersDoesNotChangeCachedCaptures() throws NoSuchFieldException {
+        GenericTypeReflector.enableCaptureCache(16);
+        Field values = Multi.class.getField("values");
+        AnnotatedParameterizedType captured = (AnnotatedParameterizedType) GenericTypeReflector.capture(new TypeToken<Multi<?, ?>>(){}.getAnnotatedType());
+
+        AnnotatedParameterizedType fieldType = (AnnotatedParameterizedType) GenericTypeReflector.getExactFieldType(values, captured);
+        assertTrue(fieldType.getAnnotatedActualTypeArguments()[0].isAnnotationPresent(A2.class));
+
+        AnnotatedParameterizedType again = (AnnotatedParameterizedType) GenericTypeReflector.capture(new TypeToken<Multi<?, ?>>(){}.getAnnotatedType());
+        assertEquals(captured.getType(), again.getType());
+        for (AnnotatedType argument : again.getAnnotatedActualTypeArguments()) {
+            assertEquals(0, argument.getAnnotations().length);
+        }
+    }
+
+    @Test
+    public void cachedMemberTypesDoNotShareTheirCaptures() throws NoSuchMethodException {
+        GenericTypeReflector.enableCaptureCache(16);
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = List.class.getMethod("get", int.class);
+        Annotation a1 = new TypeToken<@A1 String>(){}.getAnnotatedType().getAnnotations()[0];
+
+        AnnotatedType first = GenericTypeReflector.getExactReturnType(get, new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        GenericTypeReflector.updateAnnotations(first, new Annotation[] {a1});
+        AnnotatedType second = GenericTypeReflector.getExactReturnType(get, new TypeToken<List<? extends Number>>(){}.getAnnotatedType());
+        assertEquals(0, second.getAnnotations().length);
+        assertEquals(1, GenericTypeReflector.getMemberTypeCacheStats().getHitCount());
+    }
+
+    @SuppressWarnings("unused")
+    public static class Outer<T> {
+        public class Inner<U> {}
+    }
+
+    @SuppressWarnings("unused")
+    public static class Multi<K, V> {
+        public List<@A2 V> values;
+    }
+}
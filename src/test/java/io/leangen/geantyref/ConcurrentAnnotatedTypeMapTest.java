@@ -0,0 +1,84 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.Test;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentAnnotatedTypeMapTest {
+
+    @Test
+    public void keysAreCanonical() {
+        ConcurrentAnnotatedTypeMap<AnnotatedType, String> map = new ConcurrentAnnotatedTypeMap<>();
+        map.put(new TypeToken<Map<String, @A1 Integer>>(){}.getAnnotatedType(), "annotated");
+        map.put(new TypeToken<Map<String, Integer>>(){}.getAnnotatedType(), "plain");
+
+        assertEquals(2, map.size());
+        assertEquals("annotated", map.get(new TypeToken<Map<String, @A1 Integer>>(){}.getAnnotatedType()));
+        assertEquals("plain", map.get(new TypeToken<Map<String, Integer>>(){}.getAnnotatedType()));
+        assertNull(map.get(new TypeToken<Map<String, Long>>(){}.getAnnotatedType()));
+        assertNull(map.get(String.class));
+        for (AnnotatedType key : map.keySet()) {
+            assertTrue(((AnnotatedTypeImpl) key).isCanonical());
+            assertSame(key, GenericTypeReflector.toCanonical(key));
+        }
+    }
+
+    @Test
+    public void computeIfAbsentMapsEachKeyOnce() throws Exception {
+        ConcurrentAnnotatedTypeMap<AnnotatedType, Object> map = new ConcurrentAnnotatedTypeMap<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return map.computeIfAbsent(new TypeToken<List<@A1 String>>(){}.getAnnotatedType(), key -> {
+                        computations.incrementAndGet();
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        assertSame(map.get(new TypeToken<List<@A1 String>>(){}.getAnnotatedType()),
+                map.computeIfAbsent(new TypeToken<List<@A1 String>>(){}.getAnnotatedType(), key -> {
+                    throw new AssertionError("mapped twice");
+                }));
+    }
+
+    @Test
+    public void mappingFunctionReceivesTheCanonicalKey() {
+        ConcurrentAnnotatedTypeMap<AnnotatedType, AnnotatedType> map = new ConcurrentAnnotatedTypeMap<>();
+        AnnotatedType key = map.computeIfAbsent(new TypeToken<List<@A1 String>>(){}.getAnnotatedType(), canonical -> canonical);
+        assertSame(key, map.keySet().iterator().next());
+        assertTrue(((AnnotatedTypeImpl) key).isCanonical());
+    }
+}
@@ -6,6 +6,7 @@
 package io.leangen.geantyref;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
 
@@ -136,6 +137,13 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
         assertEquals(C1.class, resolved.getType());
     }
 
+    public void testGetExactSubTypeMissesForPlainTypes() {
+        assertNull(getExactSubType(new TypeToken<P<Optional<String>, List<Map<String, Integer>>>>(){}.getType(), L.class));
+        assertEquals(C1.class, getExactSubType(new TypeToken<P<String, Integer>>(){}.getType(), C1.class));
+        assertEquals(new TypeToken<L<Integer, String>>(){}.getType(),
+                getExactSubType(new TypeToken<P<List<String>, List<Map<String, Integer>>>>(){}.getType(), L.class));
+    }
+
     public void testGetExactSubTypeNotOverlapping() {
         AnnotatedParameterizedType parent = (AnnotatedParameterizedType) new TypeToken<List<String>>(){}.getAnnotatedType();
         AnnotatedType subType = getExactSubType(parent, Set.class);
@@ -215,6 +223,106 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
         assertAnnotationsPresent(innermostCanonical, A2.class);
     }
 
+    public void testCanonicalTypesAreReused() {
+        AnnotatedType type = new TypeToken<Map<@A1 String, List<? extends Number>[]>>(){}.getAnnotatedType();
+        AnnotatedType canonical = GenericTypeReflector.toCanonical(type);
+        assertNotSame(type, canonical);
+        assertSame(canonical, GenericTypeReflector.toCanonical(canonical));
+        AnnotatedType variable = annotate(ComplexBounds.class.getTypeParameters()[1]);
+        AnnotatedType canonicalVariable = GenericTypeReflector.toCanonical(variable);
+        assertSame(canonicalVariable, GenericTypeReflector.toCanonical(canonicalVariable));
+        AnnotatedType captured = GenericTypeReflector.capture(new TypeToken<Enum<?>>(){}.getAnnotatedType());
+        assertSame(captured, GenericTypeReflector.toCanonical(captured));
+        assertSame(canonical, GenericTypeReflector.transform(canonical, new TypeVisitor() {}));
+
+        // only the path to a changed node is rebuilt
+        AnnotatedParameterizedType boxed = (AnnotatedParameterizedType) GenericTypeReflector.transform(canonical, new TypeVisitor() {
+            @Override
+            protected AnnotatedType visitClass(AnnotatedType type) {
+                return type.getType() == Number.class ? annotate(Integer.class) : type;
+            }
+        });
+        assertEquals(new TypeToken<Map<String, List<? extends Integer>[]>>(){}.getType(), boxed.getType());
+        assertSame(((AnnotatedParameterizedType) canonical).getAnnotatedActualTypeArguments()[0], boxed.getAnnotatedActualTypeArguments()[0]);
+    }
+
+    public void testCanonicalTypesAreRemembered() {
+        AnnotatedType canonical = GenericTypeReflector.toCanonical(new TypeToken<List<@A1 int[]>>(){}.getAnnotatedType());
+        assertTrue(((AnnotatedTypeImpl) canonical).isCanonical());
+        assertSame(canonical, GenericTypeReflector.toCanonical(canonical));
+        assertTrue(GenericTypeReflector.equals(canonical, new TypeToken<List<@A1 int[]>>(){}.getAnnotatedType()));
+        // the marker does not stand for the boxed form
+        AnnotatedType primitive = GenericTypeReflector.toCanonical(annotate(int.class));
+        assertEquals(Integer.class, GenericTypeReflector.toCanonicalBoxed(primitive).getType());
+
+        AnnotatedTypeMap<AnnotatedType, String> map = new AnnotatedTypeMap<>();
+        map.put(canonical, "list");
+        assertEquals("list", map.get(new TypeToken<List<@A1 int[]>>(){}.getAnnotatedType()));
+        assertSame(canonical, map.keySet().iterator().next());
+    }
+
+    public void testFullyBound() {
+        assertTrue(GenericTypeReflector.isFullyBound(new TypeToken<Map<String, List<Integer>[]>>(){}.getType()));
+        assertTrue(GenericTypeReflector.isFullyBound(new TypeToken<Map<@A1 String, List<Integer>[]>>(){}.getAnnotatedType()));
+        assertFalse(GenericTypeReflector.isFullyBound(new TypeToken<Map<String, List<?>>>(){}.getType()));
+        assertFalse(GenericTypeReflector.isFullyBound(ComplexBounds.class.getTypeParameters()[0]));
+        assertFalse(GenericTypeReflector.isFullyBound(GenericTypeReflector.capture(new TypeToken<List<? extends Number>>(){}.getAnnotatedType())));
+    }
+
+    public void testTypeQuery() {
+        TypeQuery<Set<Class<? extends Annotation>>> annotations = new TypeQuery<Set<Class<? extends Annotation>>>() {
+            @Override
+            protected Set<Class<? extends Annotation>> defaultResult() {
+                return new HashSet<>();
+            }
+
+            @Override
+            protected Set<Class<? extends Annotation>> combine(Set<Class<? extends Annotation>> result, Set<Class<? extends Annotation>> next) {
+                result.addAll(next);
+                return result;
+            }
+
+            @Override
+            protected Set<Class<? extends Annotation>> visitClass(AnnotatedType type) {
+                Set<Class<? extends Annotation>> result = defaultResult();
+                Arrays.stream(type.getAnnotations()).forEach(annotation -> result.add(annotation.annotationType()));
+                return result;
+            }
+        };
+        AnnotatedType type = new TypeToken<Map<@A1 String, List<? extends @A2 Number>[]>>(){}.getAnnotatedType();
+        assertEquals(new HashSet<>(Arrays.asList(A1.class, A2.class)), GenericTypeReflector.query(type, annotations));
+        // recursive bounds are descended into once
+        AnnotatedType captured = GenericTypeReflector.capture(new TypeToken<Enum<?>>(){}.getAnnotatedType());
+        assertEquals(Collections.emptySet(), GenericTypeReflector.query(captured, annotations));
+        assertEquals(Collections.emptySet(), GenericTypeReflector.query(annotate(Enum.class.getTypeParameters()[0]), annotations));
+
+        int[] visitedClasses = new int[1];
+        TypeQuery<Boolean> containsString = new TypeQuery<Boolean>() {
+            @Override
+            protected Boolean defaultResult() {
+                return false;
+            }
+
+            @Override
+            protected Boolean combine(Boolean result, Boolean next) {
+                return result || next;
+            }
+
+            @Override
+            protected boolean isDone(Boolean result) {
+                return result;
+            }
+
+            @Override
+            protected Boolean visitClass(AnnotatedType type) {
+                visitedClasses[0]++;
+                return type.getType() == String.class;
+            }
+        };
+        assertTrue(GenericTypeReflector.query(type, containsString));
+        assertEquals(1, visitedClasses[0]);
+    }
+
     public void testErasure() throws NoSuchFieldException {
         Type wildcard = GenericTypeReflector.addWildcardParameters(ComplexBounds.class);
         Type captureType = GenericTypeReflector.getExactFieldType(ComplexBounds.class.getField("u"), wildcard);
@@ -270,6 +378,198 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
         assertAnnotationsPresent(annotatedOwnerType.getAnnotatedActualTypeArguments()[0], A4.class, A1.class);
     }
 
+    public void testResolvedArgumentsAreCheckedAgainstBounds() throws NoSuchFieldException {
+        Field bounds = BoundsHolder.class.getField("bounds");
+        // built unchecked, as callers may
+        Type invalid = new ParameterizedTypeImpl(BoundsHolder.class, new Type[] {String.class}, GenericTypeReflectorTest.class);
+        try {
+            resolveType(bounds.getGenericType(), invalid);
+            fail("expected TypeArgumentNotInBoundException");
+        } catch (TypeArgumentNotInBoundException e) { // expected
+        }
+        try {
+            resolveType(bounds.getAnnotatedType(), annotate(invalid));
+            fail("expected TypeArgumentNotInBoundException");
+        } catch (TypeArgumentNotInBoundException e) { // expected
+        }
+        Type valid = TypeFactory.parameterizedClass(BoundsHolder.class, Integer.class);
+        assertEquals(TypeFactory.parameterizedClass(ComplexBounds.class, Integer.class, Integer.class), resolveType(bounds.getGenericType(), valid));
+    }
+
+    public void testReplaceParametersChecksOnlyChangedArguments() {
+        AnnotatedParameterizedType type = (AnnotatedParameterizedType) new TypeToken<ComplexBounds<Long, Long>>(){}.getAnnotatedType();
+        AnnotatedType[] sameArguments = {annotate(Long.class, new Annotation[] {t1.getAnnotations()[0]}), annotate(Long.class)};
+        AnnotatedParameterizedType reannotated = GenericTypeReflector.replaceParameters(type, sameArguments);
+        assertEquals(type.getType(), reannotated.getType());
+        assertNotNull(reannotated.getAnnotatedActualTypeArguments()[0].getAnnotation(A1.class));
+
+        AnnotatedType[] outOfBounds = {annotate(String.class), annotate(String.class)};
+        try {
+            GenericTypeReflector.replaceParameters(type, outOfBounds);
+            fail("expected TypeArgumentNotInBoundException");
+        } catch (TypeArgumentNotInBoundException e) { // expected
+        }
+    }
+
+    public void testAnnotationsAreCompactedAndCopied() {
+        Annotation a1 = t1.getAnnotations()[0];
+        Annotation a5 = t2.getAnnotations()[0];
+        AnnotatedType type = GenericTypeReflector.replaceAnnotations(annotate(String.class), new Annotation[] {a1, a5, a1});
+        assertTrue(Arrays.equals(new Annotation[] {a1, a5}, type.getAnnotations()));
+        assertSame(a5, type.getAnnotation(A5.class));
+
+        type.getAnnotations()[0] = a5;
+        assertTrue(Arrays.equals(new Annotation[] {a1, a5}, type.getAnnotations()));
+        assertEquals(0, annotate(String.class).getAnnotations().length);
+    }
+
+    public void testAnnotatedClassesAreShared() {
+        assertSame(annotate(String.class), annotate(String.class));
+        assertSame(annotate(String[].class), annotate(String[].class));
+        assertSame(annotate(Map.Entry.class).getAnnotatedOwnerType(), annotate(Map.class));
+        assertNotSame(annotate(List.class), GenericTypeReflector.annotate(List.class, new Annotation[] {t1.getAnnotations()[0]}));
+    }
+
+    public void testCachedHashCodes() {
+        AnnotatedType copy = new TypeToken<@A1 Optional<@A2 Map<@A3 String, @A4 Integer @A5 []>>>(){}.getAnnotatedType();
+        AnnotatedType canonical = GenericTypeReflector.toCanonical(t1);
+        assertEquals(canonical.hashCode(), GenericTypeReflector.toCanonical(copy).hashCode());
+        assertEquals(canonical, GenericTypeReflector.toCanonical(copy));
+        assertFalse(canonical.equals(GenericTypeReflector.toCanonical(t2)));
+
+        AnnotatedTypeVariableImpl variable = new AnnotatedTypeVariableImpl(List.class.getTypeParameters()[0]);
+        AnnotatedType[] arguments = {variable};
+        AnnotatedType list = new AnnotatedParameterizedTypeImpl((ParameterizedType) TypeFactory.parameterizedClass(List.class, variable.getType()),
+                new Annotation[0], arguments, null);
+        int before = list.hashCode();
+        variable.setAnnotations(new Annotation[] {t1.getAnnotations()[0]});
+        assertTrue(before != list.hashCode());
+    }
+
+    public void testTypeArgumentsAreCopied() {
+        ParameterizedType type = (ParameterizedType) TypeFactory.parameterizedClass(Map.class, String.class, Integer.class);
+        int hash = type.hashCode();
+        type.getActualTypeArguments()[0] = Long.class;
+        assertEquals(String.class, type.getActualTypeArguments()[0]);
+        assertEquals(hash, type.hashCode());
+        assertEquals(TypeFactory.parameterizedClass(Map.class, String.class, Integer.class), type);
+    }
+
+    public void testInterningKeepsVariableBounds() {
+        TypeFactory.enableInterning();
+        try {
+            TypeVariable<?> element = List.class.getTypeParameters()[0];
+            Type numbers = TypeFactory.parameterizedClass(List.class, new TypeVariableImpl<>(element).init(new Type[] {Number.class}));
+            Type strings = TypeFactory.parameterizedClass(List.class, new TypeVariableImpl<>(element).init(new Type[] {String.class}));
+            assertNotSame(numbers, strings);
+            assertEquals(String.class, ((TypeVariable<?>) ((ParameterizedType) strings).getActualTypeArguments()[0]).getBounds()[0]);
+
+            Type plain = TypeFactory.parameterizedClass(List.class, element);
+            assertSame(plain, TypeFactory.parameterizedClass(List.class, element));
+        } finally {
+            TypeFactory.disableInterning();
+        }
+    }
+
+    public void testParameterTypesIncludeImplicitParameters() {
+        Constructor<?> inner = ParameterOwner.Inner.class.getDeclaredConstructors()[0];
+        Type innerType = TypeFactory.parameterizedInnerClass(TypeFactory.parameterizedClass(ParameterOwner.class, String.class), ParameterOwner.Inner.class);
+        assertSameParameterTypes(inner, innerType);
+        assertEquals(inner.getParameterCount(), GenericTypeReflector.getParameterTypes(inner, innerType).length);
+
+        for (Constructor<?> constructor : ParameterEnum.class.getDeclaredConstructors()) {
+            assertSameParameterTypes(constructor, ParameterEnum.class);
+            assertEquals(constructor.getParameterCount(), GenericTypeReflector.getParameterTypes(constructor, ParameterEnum.class).length);
+        }
+    }
+
+    private static void assertSameParameterTypes(Executable exe, Type declaringType) {
+        Type[] plain = GenericTypeReflector.getParameterTypes(exe, declaringType);
+        AnnotatedType[] annotated = GenericTypeReflector.getParameterTypes(exe, annotate(declaringType));
+        assertEquals(annotated.length, plain.length);
+        for (int i = 0; i < plain.length; i++) {
+            assertEquals(annotated[i].getType(), plain[i]);
+        }
+    }
+
+    public void testInnerClassOfBoundedOwner() {
+        Type expected = TypeFactory.parameterizedInnerClass(TypeFactory.parameterizedClass(Box.class, String.class), Box.Lock.class, Integer.class);
+        Type variable = BoxHolder.class.getTypeParameters()[0];
+        assertEquals(expected, TypeFactory.parameterizedInnerClass(variable, Box.Lock.class, Integer.class));
+        Type wildcard = TypeFactory.wildcardExtends(TypeFactory.parameterizedClass(Box.class, String.class));
+        assertEquals(expected, TypeFactory.parameterizedInnerClass(wildcard, Box.Lock.class, Integer.class));
+    }
+
+    public void testPlainTypesResolveLikeAnnotatedOnes() throws NoSuchMethodException {
+        Type lock = TypeFactory.parameterizedInnerClass(TypeFactory.parameterizedClass(Box.class, String.class), Box.Lock.class, Integer.class);
+        Method echo = Box.Lock.class.getDeclaredMethod("echo");
+        assertEquals(GenericTypeReflector.getExactReturnType(echo, annotate(lock)).getType(), GenericTypeReflector.getExactReturnType(echo, lock));
+
+        Type wildcardList = new TypeToken<List<? extends Number>>(){}.getType();
+        Method get = List.class.getMethod("get", int.class);
+        assertEquals(GenericTypeReflector.getReturnType(get, annotate(wildcardList)).getType().getTypeName(),
+                GenericTypeReflector.getReturnType(get, wildcardList).getTypeName());
+
+        Type entries = new TypeToken<Set<Map.Entry<String, Integer>>[]>(){}.getType();
+        assertEquals(GenericTypeReflector.getExactSuperType(annotate(entries), Collection[].class).getType(),
+                GenericTypeReflector.getExactSuperType(entries, Collection[].class));
+        assertEquals(new TypeToken<ArrayList<String>>(){}.getType(),
+                getExactSubType(new TypeToken<List<String>>(){}.getType(), ArrayList.class));
+        assertEquals(List.class.getTypeParameters()[0], resolveType(Collection.class.getTypeParameters()[0], List.class));
+        assertNull(GenericTypeReflector.getArrayComponentType(Outer.Inner.class));
+    }
+
+    public void testNonArrayClassesHaveNoComponentType() {
+        assertNull(GenericTypeReflector.getArrayComponentType(String.class));
+        assertNull(GenericTypeReflector.getArrayComponentType(int.class));
+        assertNull(GenericTypeReflector.getArrayComponentType(new TypeToken<List<String>>(){}.getType()));
+        assertEquals(String.class, GenericTypeReflector.getArrayComponentType(String[].class));
+    }
+
+    public void testInnerTypesOfParameterizedOwnersResolveToThemselves() {
+        Type lock = new TypeToken<Box<String>.Lock<Integer>>(){}.getType();
+        assertEquals(lock, resolveType(lock, String.class));
+        assertEquals(lock, resolveType(lock, Box.class));
+        assertEquals(lock, resolveType(lock, TypeFactory.parameterizedClass(Box.class, Long.class)));
+    }
+
+    public void testSuperTypeTemplates() {
+        TypeVariable<?>[] vars = L.class.getTypeParameters();
+        Type template = ClassMetadata.of(L.class).getSuperTypeTemplates().get(P.class);
+        assertEquals(new TypeToken<P<List<Integer>, List<Map<Integer, String>>>>(){}.getType(),
+                GenericTypeReflector.getExactSuperType(new TypeToken<L<String, Integer>>(){}.getType(), P.class));
+        assertEquals(TypeFactory.parameterizedInnerClass(GenericTypeReflectorTest.class, P.class,
+                TypeFactory.parameterizedClass(List.class, vars[1]),
+                TypeFactory.parameterizedClass(List.class, TypeFactory.parameterizedClass(Map.class, vars[1], vars[0]))), template);
+        assertSame(template, ClassMetadata.of(L.class).getSuperTypeTemplates().get(P.class));
+        assertEquals(N.class, ClassMetadata.of(L.class).getSuperTypeTemplates().get(N.class));
+    }
+
+    public void testDiamondSuperTypes() {
+        Type expected = new TypeToken<Iterable<String>>(){}.getType();
+        assertEquals(expected, GenericTypeReflector.getExactSuperType(Diamond.class, Iterable.class));
+        assertEquals(expected, GenericTypeReflector.getExactSuperType(annotate(Diamond.class), Iterable.class).getType());
+        assertEquals(expected, GenericTypeReflector.getExactSuperType(TypeFactory.parameterizedClass(Diamonds.class, String.class), Iterable.class));
+        assertNull(GenericTypeReflector.getExactSuperType(Diamond.class, Map.class));
+    }
+
+    public void testExactSuperTypes() {
+        Class<?>[] searched = {Iterable.class, Map.class, Left.class, Diamond.class, Object.class};
+        Type[] superTypes = GenericTypeReflector.getExactSuperTypes(Diamond.class, searched);
+        AnnotatedType[] annotatedSuperTypes = GenericTypeReflector.getExactSuperTypes(annotate(Diamond.class), searched);
+        assertEquals(searched.length, superTypes.length);
+        for (int i = 0; i < searched.length; i++) {
+            assertEquals(GenericTypeReflector.getExactSuperType(Diamond.class, searched[i]), superTypes[i]);
+            assertEquals(GenericTypeReflector.getExactSuperType(annotate(Diamond.class), searched[i]), annotatedSuperTypes[i]);
+        }
+        assertNull(superTypes[1]);
+        assertEquals(new TypeToken<Left<String>>(){}.getType(), superTypes[2]);
+
+        Type[] arraySuperTypes = GenericTypeReflector.getExactSuperTypes(new TypeToken<List<String>[]>(){}.getType(), Iterable[].class, Cloneable.class);
+        assertEquals(new TypeToken<Iterable<String>[]>(){}.getType(), arraySuperTypes[0]);
+        assertEquals(Cloneable.class, arraySuperTypes[1]);
+    }
+
     private class N {}
     private class P<S, K> extends N {}
     private class L<S, K> extends P<List<K>, List<Map<K, S>>> {}
@@ -277,6 +577,10 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
     private class C<X, Y> extends M<Y, X> {}
     private class C1<X, Y, Z> extends M<Y, X> {}
     private static class D<T> { D(T t) {}}
+    private interface Left<T> extends Iterable<T> {}
+    private interface Right<T> extends Iterable<T> {}
+    private interface Diamonds<T> extends Left<T>, Right<T> {}
+    private abstract static class Diamond implements Diamonds<String>, Right<String> {}
     private interface I<T> {<S extends T> S m(S s);}
     private static class Q<G> implements I<G> { @Override public <S extends G> S m(S s) { return null; }}
 
@@ -287,6 +591,9 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
     private static class W<T> implements O<String, T> {}
     private static class ComplexBounds<T extends Number & Serializable, U extends T> {public U u;}
 
+    @SuppressWarnings("unused")
+    private static class BoundsHolder<X extends Number & Serializable> {public ComplexBounds<X, X> bounds;}
+
     private static AnnotatedType t1 = new TypeToken<@A1 Optional<@A2 Map<@A3 String, @A4 Integer @A5 []>>>(){}.getAnnotatedType();
     private static AnnotatedType t2 = new TypeToken<@A5 Optional<@A4 Map<@A2 String, @A3 Integer @A1 []>>>(){}.getAnnotatedType();
 
@@ -302,6 +609,25 @@ public class GenericTypeReflectorTest extends AbstractGenericsReflectorTest {
         public int size;
     }
 
+    @SuppressWarnings("unused")
+    class BoxHolder<B extends Box<String>> {}
+
+    @SuppressWarnings("unused")
+    static class ParameterOwner<T> {
+        class Inner {
+            Inner(T value, List<T> values) {}
+        }
+    }
+
+    @SuppressWarnings("unused")
+    enum ParameterEnum {
+        NAMED("name"), LISTED(Collections.singletonList("name")), DEFAULT;
+
+        ParameterEnum(String name) {}
+        ParameterEnum(List<String> names) {}
+        ParameterEnum() {}
+    }
+
     class Box<@A1 T> {
         class Lock<@A2 S> {
             Lock<T> echo() {
@@ -0,0 +1,130 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class MemberTypeCacheTest {
+
+    @After
+    public void disableCache() {
+        GenericTypeReflector.disableMemberTypeCache();
+    }
+
+    @Test
+    public void repeatedResolutionsHitTheCache() throws NoSuchMethodException, NoSuchFieldException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = Box.class.getMethod("get");
+        Field value = Box.class.getField("value");
+        AnnotatedType declaringType = new TypeToken<Box<String>>(){}.getAnnotatedType();
+
+        AnnotatedType first = GenericTypeReflector.getExactReturnType(get, declaringType);
+        AnnotatedType second = GenericTypeReflector.getExactReturnType(get, new TypeToken<Box<String>>(){}.getAnnotatedType());
+        assertSame(first, second);
+        assertEquals(String.class, first.getType());
+        assertEquals(String.class, GenericTypeReflector.getExactFieldType(value, declaringType).getType());
+        assertEquals(String.class, GenericTypeReflector.getExactFieldType(value, declaringType).getType());
+
+        CacheStats stats = GenericTypeReflector.getMemberTypeCacheStats();
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getHitCount());
+    }
+
+    @Test
+    public void equivalentDeclaringTypesShareTheResultOfTheCanonicalForm() throws NoSuchMethodException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = Box.class.getMethod("get");
+        AnnotatedType reflected = new TypeToken<Box<@A1 String>>(){}.getAnnotatedType();
+        AnnotatedType canonical = GenericTypeReflector.toCanonical(new TypeToken<Box<@A1 String>>(){}.getAnnotatedType());
+
+        AnnotatedType first = GenericTypeReflector.getExactReturnType(get, reflected);
+        assertSame(first, GenericTypeReflector.getExactReturnType(get, canonical));
+        assertEquals(1, GenericTypeReflector.getMemberTypeCacheStats().getHitCount());
+
+        // computed from the canonical key, not from whichever equivalent form came first
+        GenericTypeReflector.disableMemberTypeCache();
+        AnnotatedType expected = GenericTypeReflector.getExactReturnType(get, canonical);
+        assertSame(expected.getClass(), first.getClass());
+        assertEquals(expected, first);
+    }
+
+    @Test
+    public void modesAreCachedSeparately() throws NoSuchMethodException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = Box.class.getMethod("get");
+
+        assertEquals(Object.class, GenericTypeReflector.getReturnType(get, Box.class));
+        assertEquals(Object.class, GenericTypeReflector.getExactReturnType(get, Box.class));
+        assertEquals(Object.class, GenericTypeReflector.getExactReturnType(get, Box.class));
+        assertEquals(1, GenericTypeReflector.getMemberTypeCacheStats().getHitCount());
+        assertEquals(2, GenericTypeReflector.getMemberTypeCacheStats().getSize());
+    }
+
+    @Test
+    public void cachedParameterTypesAreCopied() throws NoSuchMethodException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method set = Box.class.getMethod("set", Object.class, List.class);
+        AnnotatedType declaringType = new TypeToken<Box<Integer>>(){}.getAnnotatedType();
+
+        AnnotatedType[] first = GenericTypeReflector.getExactParameterTypes(set, declaringType);
+        AnnotatedType[] second = GenericTypeReflector.getExactParameterTypes(set, declaringType);
+        assertNotSame(first, second);
+        first[0] = null;
+        assertEquals(Integer.class, GenericTypeReflector.getExactParameterTypes(set, declaringType)[0].getType());
+        Type expected = new TypeToken<List<Integer>>(){}.getType();
+        assertEquals(expected, second[1].getType());
+    }
+
+    @Test
+    public void wildcardDeclaringTypesAreNotCached() throws NoSuchMethodException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = Box.class.getMethod("get");
+        AnnotatedType declaringType = new TypeToken<Box<?>>(){}.getAnnotatedType();
+
+        AnnotatedType first = GenericTypeReflector.getExactReturnType(get, declaringType);
+        AnnotatedType second = GenericTypeReflector.getExactReturnType(get, declaringType);
+        assertNotEquals(first.getType(), second.getType());
+        assertEquals(0, GenericTypeReflector.getMemberTypeCacheStats().getSize());
+    }
+
+    @Test
+    public void failuresAreNotCached() throws NoSuchMethodException {
+        GenericTypeReflector.enableMemberTypeCache(16);
+        Method get = Box.class.getMethod("get");
+        try {
+            GenericTypeReflector.getExactReturnType(get, String.class);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) { // expected
+        }
+        assertEquals(0, GenericTypeReflector.getMemberTypeCacheStats().getSize());
+    }
+
+    public static class Box<T> {
+        public T value;
+
+        public T get() {
+            return value;
+        }
+
+        public void set(T value, List<T> values) {
+            this.value = value;
+        }
+    }
+}
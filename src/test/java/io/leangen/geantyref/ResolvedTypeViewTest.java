@@ -0,0 +1,168 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static io.leangen.geantyref.Annotations.A2;
+import static io.leangen.geantyref.Annotations.A3;
+import static io.leangen.geantyref.Annotations.A4;
+import static io.leangen.geantyref.Annotations.A5;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResolvedTypeViewTest {
+
+    @After
+    public void disableCache() {
+        GenericTypeReflector.disableResolvedTypeViewCache();
+        GenericTypeReflector.disableCaptureCache();
+    }
+
+    @Test
+    public void membersResolveLikeSingleLookups() {
+        AnnotatedType type = new TypeToken<NamedBox<@A1 Integer>>(){}.getAnnotatedType();
+        ResolvedTypeView view = GenericTypeReflector.getResolvedTypeView(type);
+
+        assertSame(type, view.getType());
+        for (Field field : view.getFields()) {
+            assertEquals(GenericTypeReflector.getFieldType(field, type), view.getFieldType(field));
+        }
+        for (Method method : view.getMethods()) {
+            assertEquals(GenericTypeReflector.getReturnType(method, type), view.getReturnType(method));
+            assertTrue(Arrays.equals(GenericTypeReflector.getParameterTypes(method, type), view.getParameterTypes(method)));
+        }
+        for (Constructor<?> constructor : view.getConstructors()) {
+            assertTrue(Arrays.equals(GenericTypeReflector.getParameterTypes(constructor, type), view.getParameterTypes(constructor)));
+        }
+    }
+
+    @Test
+    public void membersOfWildcardTypesResolveLikeSingleLookups() {
+        // with captures cached, each single lookup captures the type the same way the view does
+        GenericTypeReflector.enableCaptureCache(16);
+        AnnotatedType type = new TypeToken<Multi<@A1 ?, ? extends @A2 Number>>(){}.getAnnotatedType();
+        ResolvedTypeView view = GenericTypeReflector.getResolvedTypeView(type);
+
+        for (Field field : view.getFields()) {
+            assertResolvedAlike(GenericTypeReflector.getFieldType(field, type), view.getFieldType(field));
+        }
+        for (Method method : view.getMethods()) {
+            assertResolvedAlike(GenericTypeReflector.getReturnType(method, type), view.getReturnType(method));
+            assertResolvedAlike(GenericTypeReflector.getParameterTypes(method, type), view.getParameterTypes(method));
+        }
+        for (Constructor<?> constructor : view.getConstructors()) {
+            assertResolvedAlike(GenericTypeReflector.getParameterTypes(constructor, type), view.getParameterTypes(constructor));
+        }
+        // resolving members must not change the types of the others
+        for (Field field : view.getFields()) {
+            assertResolvedAlike(GenericTypeReflector.getFieldType(field, type), view.getFieldType(field));
+        }
+    }
+
+    @Test
+    public void inheritedMembersAreResolved() throws NoSuchMethodException, NoSuchFieldException {
+        ResolvedTypeView view = GenericTypeReflector.getResolvedTypeView(new TypeToken<NamedBox<Integer>>(){}.getType());
+
+        Method get = Box.class.getMethod("get");
+        Method put = Box.class.getMethod("put", Object.class, Object.class);
+        assertTrue(view.getMethods().contains(get));
+        assertEquals(new TypeToken<List<Integer>>(){}.getType(), view.getReturnType(get).getType());
+        assertEquals(new TypeToken<Map<String, Integer>>(){}.getType(), view.getFieldType(Box.class.getField("values")).getType());
+        Type[] parameterTypes = Arrays.stream(view.getParameterTypes(put)).map(AnnotatedType::getType).toArray(Type[]::new);
+        assertEquals(String.class, parameterTypes[0]);
+        assertEquals(Integer.class, parameterTypes[1]);
+        // variables of generic methods are kept
+        Type converted = view.getReturnType(Box.class.getMethod("convert")).getType();
+        assertTrue(converted instanceof TypeVariable);
+        assertEquals(Box.class.getMethod("convert"), ((TypeVariable<?>) converted).getGenericDeclaration());
+    }
+
+    @Test
+    public void unrelatedMembersAreRejected() throws NoSuchMethodException {
+        ResolvedTypeView view = GenericTypeReflector.getResolvedTypeView(NamedBox.class);
+        try {
+            view.getReturnType(String.class.getMethod("length"));
+            fail("expected exception");
+        } catch (IllegalArgumentException e) { // expected
+        }
+        try {
+            GenericTypeReflector.getResolvedTypeView(String[].class);
+            fail("expected exception");
+        } catch (IllegalArgumentException e) { // expected
+        }
+    }
+
+    @Test
+    public void viewsAreCachedPerCanonicalType() {
+        GenericTypeReflector.enableResolvedTypeViewCache(16);
+        ResolvedTypeView first = GenericTypeReflector.getResolvedTypeView(new TypeToken<NamedBox<Integer>>(){}.getAnnotatedType());
+        ResolvedTypeView second = GenericTypeReflector.getResolvedTypeView(new TypeToken<NamedBox<Integer>>(){}.getAnnotatedType());
+        assertSame(first, second);
+
+        ResolvedTypeView wildcard = GenericTypeReflector.getResolvedTypeView(new TypeToken<NamedBox<?>>(){}.getType());
+        assertNotNull(wildcard);
+        assertNotSame(wildcard, GenericTypeReflector.getResolvedTypeView(new TypeToken<NamedBox<?>>(){}.getType()));
+
+        CacheStats stats = GenericTypeReflector.getResolvedTypeViewCacheStats();
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+    }
+
+    private static void assertResolvedAlike(AnnotatedType expected, AnnotatedType actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    private static void assertResolvedAlike(AnnotatedType[] expected, AnnotatedType[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertResolvedAlike(expected[i], actual[i]);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Box<K, V> {
+        public Map<K, V> values;
+        public List<V> get() { return null; }
+        public void put(K key, V value) {}
+        public <T> T convert() { return null; }
+    }
+
+    @SuppressWarnings("unused")
+    public static class NamedBox<V> extends Box<String, V> implements Comparable<NamedBox<V>> {
+        public V first;
+        public NamedBox(V first) {}
+        @Override public int compareTo(NamedBox<V> o) { return 0; }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Multi<K extends Comparable<K>, V> extends Box<@A3 K, @A4 V> {
+        public List<@A2 V> values;
+        public Map<@A1 K, @A3 V> byKey;
+        public @A4 K key;
+        public V value;
+        public Multi(@A1 K key, @A2 V value) {}
+        public @A5 V get(@A1 K key) { return null; }
+        public Map<K, List<@A2 V>> all(@A3 V value, List<@A4 K> keys) { return null; }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SuperTypeCacheTest {
+
+    @After
+    public void disableCache() {
+        GenericTypeReflector.disableSuperTypeCache();
+    }
+
+    @Test
+    public void repeatedLookupsHitTheCache() {
+        GenericTypeReflector.enableSuperTypeCache(16);
+        Type expected = new TypeToken<Collection<String>>(){}.getType();
+
+        assertEquals(expected, GenericTypeReflector.getExactSuperType(StringList.class, Collection.class));
+        assertEquals(expected, GenericTypeReflector.getExactSuperType(StringList.class, Collection.class));
+        AnnotatedType first = GenericTypeReflector.getExactSuperType(GenericTypeReflector.annotate(StringList.class), Collection.class);
+        AnnotatedType second = GenericTypeReflector.getExactSuperType(GenericTypeReflector.annotate(StringList.class), Collection.class);
+        assertSame(first, second);
+
+        CacheStats stats = GenericTypeReflector.getSuperTypeCacheStats();
+        // plain and annotated lookups are cached separately
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void equivalentSubTypesShareTheResultOfTheCanonicalForm() {
+        GenericTypeReflector.enableSuperTypeCache(16);
+        AnnotatedType reflected = new TypeToken<ArrayList<@A1 String>>(){}.getAnnotatedType();
+        AnnotatedType canonical = GenericTypeReflector.toCanonical(new TypeToken<ArrayList<@A1 String>>(){}.getAnnotatedType());
+
+        AnnotatedParameterizedType first = (AnnotatedParameterizedType) GenericTypeReflector.getExactSuperType(reflected, Collection.class);
+        assertSame(first, GenericTypeReflector.getExactSuperType(canonical, Collection.class));
+        assertEquals(1, GenericTypeReflector.getSuperTypeCacheStats().getHitCount());
+
+        // computed from the canonical key, not from whichever equivalent form came first
+        GenericTypeReflector.disableSuperTypeCache();
+        AnnotatedParameterizedType expected = (AnnotatedParameterizedType) GenericTypeReflector.getExactSuperType(canonical, Collection.class);
+        assertSame(expected.getAnnotatedActualTypeArguments()[0].getClass(), first.getAnnotatedActualTypeArguments()[0].getClass());
+        assertEquals(GenericTypeReflector.toCanonical(expected), GenericTypeReflector.toCanonical(first));
+    }
+
+    @Test
+    public void trivialAndNegativeLookupsAreNotCached() {
+        GenericTypeReflector.enableSuperTypeCache(16);
+
+        assertNull(GenericTypeReflector.getExactSuperType(StringList.class, Map.class));
+        assertEquals(StringList.class, GenericTypeReflector.getExactSuperType(StringList.class, StringList.class));
+
+        CacheStats stats = GenericTypeReflector.getSuperTypeCacheStats();
+        assertEquals(0, stats.getMissCount());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    public void oldestEntriesAreEvicted() {
+        GenericTypeReflector.enableSuperTypeCache(2);
+
+        GenericTypeReflector.getExactSuperType(StringList.class, Collection.class);
+        GenericTypeReflector.getExactSuperType(StringList.class, List.class);
+        GenericTypeReflector.getExactSuperType(StringList.class, Iterable.class);
+
+        CacheStats stats = GenericTypeReflector.getSuperTypeCacheStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictionCount());
+    }
+
+    @Test
+    public void disabledCacheReportsEmptyStats() {
+        GenericTypeReflector.getExactSuperType(StringList.class, Collection.class);
+        assertEquals(0, GenericTypeReflector.getSuperTypeCacheStats().getMissCount());
+    }
+
+    private static class StringList extends ArrayList<String> {
+    }
+}
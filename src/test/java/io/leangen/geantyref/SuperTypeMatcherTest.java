@@ -0,0 +1,72 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SuperTypeMatcherTest {
+
+    private static final List<Type> TYPES = Arrays.asList(
+            Object.class, String.class, Integer.class, int.class, String[].class, List.class, ArrayList.class, Numbers.class,
+            new TypeToken<List<Integer>>(){}.getType(),
+            new TypeToken<List<? extends Number>>(){}.getType(),
+            new TypeToken<Collection<? super Integer>>(){}.getType(),
+            new TypeToken<Collection<? extends Number>>(){}.getType(),
+            new TypeToken<Map<String, ? extends List<?>>>(){}.getType(),
+            new TypeToken<Map<String, ArrayList<Integer>>>(){}.getType(),
+            new TypeToken<List<? extends Number>[]>(){}.getType(),
+            new TypeToken<Outer<String>.Inner<Integer>>(){}.getType(),
+            new TypeToken<Outer<? extends CharSequence>.Inner<?>>(){}.getType());
+
+    @Test
+    public void matchesLikeIsSuperType() {
+        for (Type superType : TYPES) {
+            SuperTypeMatcher matcher = GenericTypeReflector.compileSuperTypeMatcher(superType);
+            for (Type subType : TYPES) {
+                assertEquals(superType + " <- " + subType, GenericTypeReflector.isSuperType(superType, subType), matcher.matches(subType));
+            }
+        }
+    }
+
+    @Test
+    public void wildcardArgumentsAreContained() {
+        SuperTypeMatcher matcher = GenericTypeReflector.compileSuperTypeMatcher(new TypeToken<Collection<? extends Number>>(){}.getType());
+        assertTrue(matcher.matches(Numbers.class));
+        assertTrue(matcher.matches(new TypeToken<Set<? extends Integer>>(){}.getType()));
+        assertFalse(matcher.matches(new TypeToken<List<String>>(){}.getType()));
+        assertFalse(matcher.matches(new TypeToken<List<? super Integer>>(){}.getType()));
+        assertFalse(matcher.matches(String.class));
+    }
+
+    @Test
+    public void onlyClassesParameterizedAndArrayTypesCompile() {
+        try {
+            GenericTypeReflector.compileSuperTypeMatcher(Outer.class.getTypeParameters()[0]);
+            fail("expected exception");
+        } catch (IllegalArgumentException e) { // expected
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Outer<T> {
+        public class Inner<U> {}
+    }
+
+    private static abstract class Numbers extends ArrayList<Integer> {}
+}
@@ -0,0 +1,103 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TypeDispatchIndexTest {
+
+    private static final Type NUMBERS = new TypeToken<Collection<? extends Number>>(){}.getType();
+    private static final Type INTEGERS = new TypeToken<Collection<Integer>>(){}.getType();
+    private static final Type INTEGER_LIST = new TypeToken<List<Integer>>(){}.getType();
+
+    @Test
+    public void mostSpecificSupertypeWins() {
+        TypeDispatchIndex<String> index = new TypeDispatchIndex<>();
+        index.put(Object.class, "object");
+        index.put(NUMBERS, "numbers");
+        index.put(INTEGERS, "integers");
+        index.put(Iterable.class, "iterable");
+
+        assertEquals("integers", index.find(new TypeToken<ArrayList<Integer>>(){}.getType()));
+        assertEquals("numbers", index.find(new TypeToken<List<Long>>(){}.getType()));
+        assertEquals("integers", index.find(Integers.class));
+        assertEquals("iterable", index.find(new TypeToken<List<String>>(){}.getType()));
+        assertEquals("object", index.find(String.class));
+        assertNull(index.find(int.class));
+
+        Map.Entry<Type, String> entry = index.findEntry(new TypeToken<List<? extends Integer>>(){}.getType());
+        assertEquals(NUMBERS, entry.getKey());
+        assertEquals("numbers", entry.getValue());
+    }
+
+    @Test
+    public void registrationsAreReplacedAndRemoved() {
+        TypeDispatchIndex<String> index = new TypeDispatchIndex<>();
+        assertNull(index.put(NUMBERS, "numbers"));
+        assertEquals("numbers", index.put(NUMBERS, "any numbers"));
+        index.put(INTEGER_LIST, "integers");
+        assertEquals(2, index.size());
+        assertEquals("any numbers", index.get(NUMBERS));
+        assertNull(index.get(Collection.class));
+
+        assertEquals("integers", index.find(INTEGER_LIST));
+        assertEquals("integers", index.remove(INTEGER_LIST));
+        assertNull(index.remove(INTEGER_LIST));
+        assertEquals("any numbers", index.find(INTEGER_LIST));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void answersAreMemoizedUntilTheNextRegistration() {
+        TypeDispatchIndex<String> index = new TypeDispatchIndex<>();
+        index.put(NUMBERS, "numbers");
+        Map.Entry<Type, String> first = index.findEntry(INTEGER_LIST);
+        assertSame(first, index.findEntry(INTEGER_LIST));
+        assertNull(index.findEntry(String.class));
+        assertNull(index.findEntry(String.class));
+        assertEquals(2, index.getCacheStats().getHitCount());
+
+        index.put(INTEGERS, "integers");
+        assertEquals("integers", index.find(INTEGER_LIST));
+        assertEquals(0, index.getCacheStats().getHitCount());
+    }
+
+    @Test
+    public void arraysDispatchByComponentType() {
+        TypeDispatchIndex<String> index = new TypeDispatchIndex<>();
+        index.put(Object[].class, "objects");
+        index.put(CharSequence[].class, "sequences");
+        index.put(Cloneable.class, "cloneable");
+        assertEquals("sequences", index.find(String[].class));
+        assertEquals("objects", index.find(Integer[].class));
+        assertEquals("cloneable", index.find(int[].class));
+    }
+
+    @Test
+    public void hierarchiesAreLinearizedSubtypesFirst() {
+        assertArrayEquals(new Class<?>[] {Integers.class, ArrayList.class, java.util.AbstractList.class,
+                        java.util.AbstractCollection.class, List.class, Collection.class, Iterable.class,
+                        java.util.RandomAccess.class, Cloneable.class, Serializable.class, Object.class},
+                ClassMetadata.of(Integers.class).getLinearization());
+        assertArrayEquals(new Class<?>[] {Object[].class, Cloneable.class, Serializable.class, Object.class},
+                ClassMetadata.of(Object[].class).getLinearization());
+        assertArrayEquals(new Class<?>[] {int.class}, ClassMetadata.of(int.class).getLinearization());
+    }
+
+    private static abstract class Integers extends ArrayList<Integer> {}
+}
@@ -0,0 +1,119 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.Test;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.AnnotatedTypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TypeQueryTest {
+
+    @Test
+    public void classesAreFoldedInOrder() {
+        AnnotatedType type = new TypeToken<Map<String, List<Integer[]>>>(){}.getAnnotatedType();
+        assertEquals(Arrays.asList(String.class, Integer.class), GenericTypeReflector.query(type, new ClassesQuery(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void queriesStopOnceDone() {
+        AnnotatedType type = new TypeToken<Map<String, Map<Integer, Long>>>(){}.getAnnotatedType();
+        ClassesQuery query = new ClassesQuery(1);
+        assertEquals(Arrays.asList(String.class), GenericTypeReflector.query(type, query));
+        assertEquals(1, query.visited);
+
+        assertFalse(GenericTypeReflector.isFullyBound(new TypeToken<Map<?, Map<Integer, Long>>>(){}.getAnnotatedType()));
+        assertTrue(GenericTypeReflector.isFullyBound(new TypeToken<Map<String, Map<Integer, Long[]>>>(){}.getAnnotatedType()));
+    }
+
+    @Test
+    public void recursiveVariablesAreDescendedIntoOnce() {
+        AnnotatedType variable = GenericTypeReflector.annotate(Enum.class.getTypeParameters()[0]);
+        VariablesQuery query = new VariablesQuery();
+        // E extends Enum<E>: E itself, and the E in its bound, whose bounds are not queried again
+        assertEquals(2, (int) GenericTypeReflector.query(variable, query));
+        assertEquals(2, query.visited);
+    }
+
+    @Test
+    public void recursiveCapturesAreDescendedIntoOnce() {
+        AnnotatedType captured = GenericTypeReflector.capture(new TypeToken<Enum<?>>(){}.getAnnotatedType());
+        ClassesQuery query = new ClassesQuery(Integer.MAX_VALUE);
+        // the only bound is Enum<capture of ?>, whose argument is the capture being queried
+        assertEquals(new ArrayList<>(), GenericTypeReflector.query(captured, query));
+        assertEquals(0, query.visited);
+        assertFalse(GenericTypeReflector.isFullyBound(captured));
+    }
+
+    /**
+     * Collects the classes used as type arguments or components, up to a limit.
+     */
+    private static class ClassesQuery extends TypeQuery<List<Class<?>>> {
+
+        private final int limit;
+        private int visited;
+
+        ClassesQuery(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<Class<?>> defaultResult() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        protected List<Class<?>> combine(List<Class<?>> result, List<Class<?>> next) {
+            result.addAll(next);
+            return result;
+        }
+
+        @Override
+        protected boolean isDone(List<Class<?>> result) {
+            return result.size() >= limit;
+        }
+
+        @Override
+        protected List<Class<?>> visitClass(AnnotatedType type) {
+            visited++;
+            List<Class<?>> result = defaultResult();
+            result.add((Class<?>) type.getType());
+            return result;
+        }
+    }
+
+    /**
+     * Counts the occurrences of type variables.
+     */
+    private static class VariablesQuery extends TypeQuery<Integer> {
+
+        private int visited;
+
+        @Override
+        protected Integer defaultResult() {
+            return 0;
+        }
+
+        @Override
+        protected Integer combine(Integer result, Integer next) {
+            return result + next;
+        }
+
+        @Override
+        protected Integer visitVariable(AnnotatedTypeVariable type) {
+            visited++;
+            return 1 + super.visitVariable(type);
+        }
+    }
+}
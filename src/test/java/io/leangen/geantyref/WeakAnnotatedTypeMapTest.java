@@ -0,0 +1,169 @@
+/*
+ * License: Apache License, Version 2.0
+ * See the LICENSE file in the root directory or at <a href="http://www.apache.org/licenses/LICENSE-2">apache.org</a>.
+ */
+
+package io.leangen.geantyref;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AnnotatedType;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static io.leangen.geantyref.Annotations.A1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WeakAnnotatedTypeMapTest {
+
+    @Test
+    public void keysAreCanonical() {
+        WeakAnnotatedTypeMap<AnnotatedType, String> map = new WeakAnnotatedTypeMap<>();
+        map.put(new TypeToken<Map<String, @A1 Integer>>(){}.getAnnotatedType(), "annotated");
+        map.put(new TypeToken<Map<String, Integer>>(){}.getAnnotatedType(), "plain");
+        map.put(new TypeToken<List<Payload>>(){}.getAnnotatedType(), "payloads");
+
+        assertEquals(3, map.size());
+        assertEquals("annotated", map.get(new TypeToken<Map<String, @A1 Integer>>(){}.getAnnotatedType()));
+        assertEquals("plain", map.get(new TypeToken<Map<String, Integer>>(){}.getAnnotatedType()));
+        assertTrue(map.containsKey(new TypeToken<List<Payload>>(){}.getAnnotatedType()));
+        assertNull(map.get(new TypeToken<Map<String, Long>>(){}.getAnnotatedType()));
+        assertNull(map.get(String.class));
+
+        Map<AnnotatedType, String> copy = new HashMap<>(map);
+        assertEquals(3, copy.size());
+        assertEquals("payloads", copy.get(GenericTypeReflector.toCanonical(new TypeToken<List<Payload>>(){}.getAnnotatedType())));
+
+        assertEquals("plain", map.remove(new TypeToken<Map<String, Integer>>(){}.getAnnotatedType()));
+        assertEquals(2, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void entriesAreRemovedThroughTheIterator() {
+        WeakAnnotatedTypeMap<AnnotatedType, String> map = new WeakAnnotatedTypeMap<>();
+        map.put(new TypeToken<List<Payload>>(){}.getAnnotatedType(), "payloads");
+        map.put(new TypeToken<List<String>>(){}.getAnnotatedType(), "strings");
+        for (Iterator<Map.Entry<AnnotatedType, String>> entries = map.entrySet().iterator(); entries.hasNext(); ) {
+            if (entries.next().getValue().equals("strings")) {
+                entries.remove();
+            }
+        }
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey(new TypeToken<List<String>>(){}.getAnnotatedType()));
+    }
+
+    @Test
+    public void computeIfAbsentMapsOnce() {
+        WeakAnnotatedTypeMap<AnnotatedType, Object> map = new WeakAnnotatedTypeMap<>();
+        Object value = map.computeIfAbsent(new TypeToken<List<@A1 String>>(){}.getAnnotatedType(), key -> new Object());
+        assertSame(value, map.computeIfAbsent(new TypeToken<List<@A1 String>>(){}.getAnnotatedType(), key -> {
+            throw new AssertionError("mapped twice");
+        }));
+    }
+
+    @Test
+    public void classesAreNotPinned() throws Exception {
+        WeakAnnotatedTypeMap<AnnotatedType, Object> map = new WeakAnnotatedTypeMap<>();
+        WeakReference<Class<?>> payload = putIsolatedPayload(map);
+        for (int i = 0; i < 50 && payload.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("class loader leaked", payload.get());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void classesInAnnotationValuesAreNotPinned() throws Exception {
+        WeakAnnotatedTypeMap<AnnotatedType, Object> map = new WeakAnnotatedTypeMap<>();
+        WeakReference<Class<?>> payload = putIsolatedAnnotationValue(map);
+        for (int i = 0; i < 50 && payload.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("class loader leaked", payload.get());
+        assertEquals(0, map.size());
+    }
+
+    private static WeakReference<Class<?>> putIsolatedAnnotationValue(WeakAnnotatedTypeMap<AnnotatedType, Object> map) throws Exception {
+        Class<?> isolated = new IsolatingClassLoader(QuantityX.class).loadClass(QuantityX.class.getName());
+        Map<String, Object> values = new HashMap<>();
+        values.put("value", new Class<?>[] {String.class, isolated});
+        Annotation using = TypeFactory.annotation(Using.class, values);
+        AnnotatedType key = TypeFactory.parameterizedAnnotatedClass(List.class, new Annotation[0],
+                GenericTypeReflector.annotate(String.class, new Annotation[] {using}));
+        map.put(key, "strings");
+        assertEquals("strings", map.get(key));
+        return new WeakReference<>(isolated);
+    }
+
+    private static WeakReference<Class<?>> putIsolatedPayload(WeakAnnotatedTypeMap<AnnotatedType, Object> map) throws Exception {
+        Class<?> isolated = new IsolatingClassLoader(QuantityX.class).loadClass(QuantityX.class.getName());
+        AnnotatedType key = GenericTypeReflector.annotate(TypeFactory.parameterizedClass(List.class, isolated));
+        map.put(key, isolated.getName());
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(GenericTypeReflector.annotate(TypeFactory.parameterizedClass(List.class, isolated))));
+        return new WeakReference<>(isolated);
+    }
+
+    /**
+     * Defines its own copy of a single class, delegating everything else to the parent.
+     */
+    private static class IsolatingClassLoader extends ClassLoader {
+
+        private final Class<?> isolated;
+
+        IsolatingClassLoader(Class<?> isolated) {
+            super(isolated.getClassLoader());
+            this.isolated = isolated;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(isolated.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    for (int read; (read = in.read(buffer)) != -1; ) {
+                        bytes.write(buffer, 0, read);
+                    }
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    public static class Payload {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE_USE)
+    public @interface Using {
+        Class<?>[] value();
+    }
+}
@@ -609,6 +609,20 @@ public class TypeFactoryTest extends TestCase {
     private static class RawBound<A extends List> {
     }
 
+    public void testInterning() {
+        assertNotSame(parameterizedClass(List.class, String.class), parameterizedClass(List.class, String.class));
+        TypeFactory.enableInterning();
+        try {
+            Type list = parameterizedClass(List.class, wildcardExtends(String.class));
+            assertSame(list, parameterizedClass(List.class, wildcardExtends(String.class)));
+            assertSame(arrayOf(list), arrayOf(parameterizedClass(List.class, wildcardExtends(String.class))));
+            assertSame(((ParameterizedType) list).getActualTypeArguments()[0], wildcardExtends(String.class));
+        } finally {
+            TypeFactory.disableInterning();
+        }
+        assertNotSame(parameterizedClass(List.class, String.class), parameterizedClass(List.class, String.class));
+    }
+
     private static class ParameterizedBound<A extends List<Integer>> {
     }
 